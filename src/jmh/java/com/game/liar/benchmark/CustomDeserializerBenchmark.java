@@ -0,0 +1,46 @@
+package com.game.liar.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.game.liar.game.dto.MessageBase;
+import com.game.liar.utils.MessageJsonMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Body of server messages read as {@link MessageBase}, which always goes through CustomDeserializer.
+ * Bodies matched by the first and by the last probes are compared.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CustomDeserializerBenchmark {
+    @Param({"liarAnswer", "scoreboard", "currentTurn"})
+    public String body;
+
+    private String json;
+    private ObjectReader reader;
+
+    @Setup
+    public void setup() {
+        switch (body) {
+            case "liarAnswer":
+                json = "{\"state\":\"PUBLISH_SCORE\",\"answer\":true,\"keyword\":\"pizza\"}";
+                break;
+            case "scoreboard":
+                json = "{\"scoreboard\":{\"05dec89b-7a3a-45b5-9c51-eca2a27bf604\":3,\"9c80fe59-66f8-4634-a26f-2eb3f391cd42\":1}}";
+                break;
+            default:
+                json = "{\"state\":\"IN_PROGRESS\",\"turnId\":\"05dec89b-7a3a-45b5-9c51-eca2a27bf604\"}";
+        }
+        reader = new MessageJsonMapper().getObjectMapper().readerFor(MessageBase.class);
+    }
+
+    @Benchmark
+    public MessageBase deserialize() throws Exception {
+        return reader.readValue(json);
+    }
+}
@@ -0,0 +1,61 @@
+package com.game.liar.benchmark;
+
+import com.game.liar.game.domain.GameInfo;
+import com.game.liar.room.domain.RoomId;
+import com.game.liar.room.dto.UserDataDto;
+import com.game.liar.user.domain.UserId;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Vote counting and score calculation of a round.
+ * unanimous : every user votes the liar, split : votes are spread over two users
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GameInfoBenchmark {
+    @Param({"4", "6"})
+    public int users;
+
+    @Param({"unanimous", "split"})
+    public String vote;
+
+    private GameInfo gameInfo;
+
+    @Setup
+    public void setup() {
+        List<String> userIds = new ArrayList<>();
+        for (int i = 0; i < users; ++i)
+            userIds.add(UUID.randomUUID().toString());
+
+        gameInfo = new GameInfo(RoomId.of(UUID.randomUUID().toString()), UserId.of(userIds.get(0)));
+        for (String userId : userIds)
+            gameInfo.addUser(UserDataDto.builder().userId(userId).username(userId.substring(0, 8)).build());
+        gameInfo.initializeRoundTurnOrder(userIds);
+        gameInfo.selectLiar(userIds.get(1));
+        for (int i = 0; i < users; ++i) {
+            String designated = vote.equals("unanimous") || i % 2 == 0 ? userIds.get(1) : userIds.get(2);
+            gameInfo.addVoteResult(userIds.get(i), designated);
+        }
+    }
+
+    @Benchmark
+    public List<Map.Entry<String, Long>> getMostVotedUserIdAndCount() {
+        return gameInfo.getMostVotedUserIdAndCount();
+    }
+
+    @Benchmark
+    public Map<String, Integer> updateScoreBoard() {
+        gameInfo.updateScoreBoard();
+        return gameInfo.getScoreboard();
+    }
+}
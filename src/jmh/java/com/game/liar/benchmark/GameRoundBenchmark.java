@@ -0,0 +1,200 @@
+package com.game.liar.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.game.liar.game.domain.GameState;
+import com.game.liar.game.dto.LiarDesignateDto;
+import com.game.liar.game.dto.MessageBase;
+import com.game.liar.game.dto.MessageContainer;
+import com.game.liar.game.dto.request.GameSettingsRequest;
+import com.game.liar.game.dto.request.KeywordRequest;
+import com.game.liar.game.service.GameService;
+import com.game.liar.game.service.GameStateSync;
+import com.game.liar.game.service.GameSubjectService;
+import com.game.liar.game.service.MessageService;
+import com.game.liar.game.service.RoomCommandExecutor;
+import com.game.liar.messagequeue.TimeoutBackend;
+import com.game.liar.messagequeue.TimeoutManager;
+import com.game.liar.messagequeue.codec.MessageCodec;
+import com.game.liar.messagequeue.codec.MessageCodecs;
+import com.game.liar.room.domain.RoomId;
+import com.game.liar.room.dto.RoomIdRequest;
+import com.game.liar.room.dto.UserDataDto;
+import com.game.liar.room.service.LiveRoomRegistry;
+import com.game.liar.room.service.RoomService;
+import com.game.liar.utils.MessageJsonMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+import static com.game.liar.game.domain.Global.*;
+
+/**
+ * A whole game of one round through {@link GameService}, from startGame to the rankings.
+ * Repositories, rabbitmq and timers are replaced with in-memory stand-ins, messages are still serialized.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GameRoundBenchmark {
+    @Param({"3", "6"})
+    public int users;
+
+    private GameService gameService;
+    private RoomCommandExecutor roomCommandExecutor;
+    private String roomId;
+    private String ownerId;
+    private List<String> userIds;
+    private long sentBytes;
+
+    @Setup
+    public void setup() {
+        roomId = UUID.randomUUID().toString();
+        userIds = new ArrayList<>();
+        for (int i = 0; i < users; ++i)
+            userIds.add(UUID.randomUUID().toString());
+        ownerId = userIds.get(0);
+
+        roomCommandExecutor = new RoomCommandExecutor(1);
+        gameService = new GameService(new RoomServiceStandIn(userIds), new GameSubjectServiceStandIn(),
+                new InMemoryGameStateStore(), new MessageServiceStandIn(new MessageCodecs(new MessageJsonMapper())),
+                new TimeoutManager(new NoopTimeoutBackend()), roomCommandExecutor, new GameStateSync(false, 64),
+                new LiveRoomRegistry(id -> true));
+        gameService.addGame(roomId, ownerId);
+        for (String userId : userIds)
+            gameService.addMember(roomId, UserDataDto.builder().userId(userId).username(userId.substring(0, 8)).build());
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        roomCommandExecutor.shutdown();
+    }
+
+    @Benchmark
+    public long round() {
+        gameService.startGame(request(ownerId, START_GAME, new GameSettingsRequest(1, 1, Arrays.asList("food", "animal"))), roomId);
+        gameService.startRound(request(ownerId, START_ROUND, null), roomId);
+        gameService.selectLiarAndSendIsLiar(request(ownerId, SELECT_LIAR, null), roomId);
+        gameService.openAndSendKeyword(request(ownerId, OPEN_KEYWORD, null), roomId);
+
+        gameService.updateTurn(UUID.randomUUID().toString(), SERVER_ID, roomId);
+        while (gameService.getGameState(roomId).getState() == GameState.IN_PROGRESS)
+            gameService.updateTurn(UUID.randomUUID().toString(), gameService.getCurrentTurnUser(roomId), roomId);
+
+        String liar = gameService.getLiarResponse(RoomId.of(roomId)).getLiar();
+        for (String userId : userIds) {
+            MessageContainer vote = request(userId, VOTE_LIAR, new LiarDesignateDto(liar));
+            gameService.voteLiar(vote, roomId);
+            gameService.checkVoteResultAndSendMessage(vote, roomId);
+        }
+        gameService.openLiar(request(ownerId, OPEN_LIAR, null), roomId);
+        gameService.checkKeywordCorrectAndSendResult(request(liar, CHECK_KEYWORD_CORRECT, new KeywordRequest("pizza")), roomId);
+        gameService.notifyScores(request(ownerId, OPEN_SCORES, null), roomId);
+        gameService.notifyRoundEnd(roomId);
+        gameService.publishRankings(request(ownerId, PUBLISH_RANKINGS, null), roomId);
+        gameService.nextGameState(roomId);
+        gameService.resetGame(roomId);
+        return sentBytes;
+    }
+
+    private static MessageContainer request(String senderId, String method, MessageBase body) {
+        return new MessageContainer(senderId, new MessageContainer.Message(method, body), UUID.randomUUID().toString());
+    }
+
+    private static class RoomServiceStandIn extends RoomService {
+        private final List<String> userIds;
+
+        RoomServiceStandIn(List<String> userIds) {
+            super(null, null, null, null, null);
+            this.userIds = userIds;
+        }
+
+        @Override
+        public List<String> getUsersId(RoomIdRequest request) {
+            return new ArrayList<>(userIds);
+        }
+
+        @Override
+        public boolean isMember(String roomId, String userId) {
+            return userIds.contains(userId);
+        }
+    }
+
+    private static class GameSubjectServiceStandIn extends GameSubjectService {
+        private final Map<String, List<String>> subjects = new HashMap<>();
+
+        GameSubjectServiceStandIn() {
+            super(null, null);
+            subjects.put("food", Arrays.asList("피자", "떡볶이", "비빔밥", "치킨", "족발", "순대"));
+            subjects.put("animal", Arrays.asList("개", "소", "토끼", "염소", "표범", "치타"));
+        }
+
+        @Override
+        public Map<String, List<String>> loadInitialCategory() {
+            return null;
+        }
+
+        @Override
+        public Map<String, List<String>> getAllSubject() {
+            return subjects;
+        }
+
+        @Override
+        public List<String> getAllCategory() {
+            return new ArrayList<>(subjects.keySet());
+        }
+    }
+
+    /**
+     * Serializes every message as it would be sent to rabbitmq, and only counts the bytes
+     */
+    private class MessageServiceStandIn extends MessageService {
+        private final MessageCodec codec;
+
+        MessageServiceStandIn(MessageCodecs messageCodecs) {
+            super(null, null, messageCodecs);
+            this.codec = messageCodecs.getJson();
+        }
+
+        @Override
+        public void sendPrivateMessage(String uuid, MessageContainer.Message message, String receiver, String roomId) {
+            send(uuid, message);
+        }
+
+        @Override
+        public void sendPrivateMessages(String uuid, Map<String, MessageContainer.Message> messageByReceiver, String roomId) {
+            new HashSet<>(messageByReceiver.values()).forEach(message -> send(uuid, message));
+        }
+
+        @Override
+        public void sendPublicMessage(String uuid, MessageContainer.Message message, String roomId) {
+            send(uuid, message);
+        }
+
+        @Override
+        public void sendErrorMessage(String uuid, MessageContainer.Message message, String receiver) {
+            send(uuid, message);
+        }
+
+        private void send(String uuid, MessageContainer.Message message) {
+            try {
+                sentBytes += codec.write(new MessageContainer("SERVER", message, uuid)).length;
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    private static class NoopTimeoutBackend implements TimeoutBackend {
+        @Override
+        public void schedule(TimeoutManager.TimeoutData data, long delayMillis) {
+        }
+
+        @Override
+        public void cancel(String roomId) {
+        }
+    }
+}
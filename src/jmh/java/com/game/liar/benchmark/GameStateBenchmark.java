@@ -0,0 +1,59 @@
+package com.game.liar.benchmark;
+
+import com.game.liar.game.domain.GameInfo;
+import com.game.liar.game.domain.GameState;
+import com.game.liar.room.domain.RoomId;
+import com.game.liar.user.domain.UserId;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * State transitions of a game.
+ * next/loop : transitions of the enum itself, round : transitions of a game of 3 rounds through GameInfo
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GameStateBenchmark {
+    private static final int ROUNDS = 3;
+
+    private GameState state;
+    private GameInfo gameInfo;
+
+    @Setup
+    public void setup() {
+        state = GameState.BEFORE_START;
+        gameInfo = new GameInfo(RoomId.of(UUID.randomUUID().toString()), UserId.of(UUID.randomUUID().toString()));
+    }
+
+    @Benchmark
+    public GameState next() {
+        return state = state.next();
+    }
+
+    @Benchmark
+    public GameState loop() {
+        return state = state.loop();
+    }
+
+    @Benchmark
+    public GameState round() {
+        //BEFORE_START -> BEFORE_ROUND
+        gameInfo.nextState();
+        for (int round = 1; round <= ROUNDS; ++round) {
+            //BEFORE_ROUND -> ... -> PUBLISH_SCORE
+            while (gameInfo.getState() != GameState.PUBLISH_SCORE)
+                gameInfo.nextState();
+            if (round < ROUNDS)
+                gameInfo.nextLoop();
+        }
+        //PUBLISH_SCORE -> PUBLISH_RANKINGS -> BEFORE_START
+        gameInfo.nextState();
+        return gameInfo.nextState();
+    }
+}
@@ -0,0 +1,50 @@
+package com.game.liar.benchmark;
+
+import com.game.liar.game.domain.GameInfo;
+import com.game.liar.game.repository.GameStateStore;
+import com.game.liar.room.domain.RoomId;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Stand-in of the game store without DB, the flush is a no-op
+ */
+class InMemoryGameStateStore implements GameStateStore {
+    private final Map<RoomId, GameInfo> games = new HashMap<>();
+
+    @Override
+    public Optional<GameInfo> findById(RoomId roomId) {
+        return Optional.ofNullable(games.get(roomId));
+    }
+
+    @Override
+    public boolean existsById(RoomId roomId) {
+        return games.containsKey(roomId);
+    }
+
+    @Override
+    public GameInfo save(GameInfo gameInfo) {
+        games.put(gameInfo.getRoomId(), gameInfo);
+        return gameInfo;
+    }
+
+    @Override
+    public void markDirty(RoomId roomId) {
+    }
+
+    @Override
+    public void deleteById(RoomId roomId) {
+        games.remove(roomId);
+    }
+
+    @Override
+    public void deleteAll() {
+        games.clear();
+    }
+
+    @Override
+    public void flush() {
+    }
+}
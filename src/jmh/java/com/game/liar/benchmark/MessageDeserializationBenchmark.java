@@ -0,0 +1,67 @@
+package com.game.liar.benchmark;
+
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.game.liar.game.dto.MessageContainer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Inbound game message deserialization.
+ * probing : every body goes through CustomDeserializer(tree + field probing)
+ * methodDriven : the method of the message selects the body type
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MessageDeserializationBenchmark {
+    @Param({"startGame", "voteLiar", "checkKeywordCorrect"})
+    public String method;
+
+    private String request;
+    private ObjectReader probingReader;
+    private ObjectReader methodDrivenReader;
+
+    @JsonDeserialize(using = JsonDeserializer.None.class)
+    abstract static class ProbingMessage {
+    }
+
+    @Setup
+    public void setup() {
+        switch (method) {
+            case "startGame":
+                request = message("{\"round\":5,\"turn\":2,\"category\":[\"food\",\"sports\",\"celebrity\"]}");
+                break;
+            case "voteLiar":
+                request = message("{\"liar\":\"05dec89b-7a3a-45b5-9c51-eca2a27bf604\"}");
+                break;
+            default:
+                request = message("{\"keyword\":\"pizza\"}");
+        }
+        probingReader = new ObjectMapper()
+                .addMixIn(MessageContainer.Message.class, ProbingMessage.class)
+                .readerFor(MessageContainer.class);
+        methodDrivenReader = new ObjectMapper().readerFor(MessageContainer.class);
+    }
+
+    private String message(String body) {
+        return "{\"senderId\":\"05dec89b-7a3a-45b5-9c51-eca2a27bf604\",\"message\":{\"method\":\"" + method + "\",\"body\":" + body + "},"
+                + "\"uuid\":\"2d9c4a0e-8a67-4b9b-9d0c-3f0b1b7d7a11\"}";
+    }
+
+    @Benchmark
+    public MessageContainer probing() throws Exception {
+        return probingReader.readValue(request);
+    }
+
+    @Benchmark
+    public MessageContainer methodDriven() throws Exception {
+        return methodDrivenReader.readValue(request);
+    }
+}
@@ -0,0 +1,46 @@
+package com.game.liar.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.game.liar.exception.ErrorResult;
+import com.game.liar.game.dto.MessageContainer;
+import com.game.liar.utils.MessageJsonMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Handling of an inbound message and an error reply.
+ * perMessageMapper : new ObjectMapper for every message (previous GameController)
+ * sharedMapper : MessageJsonMapper shared by the messaging path
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MessageJsonMapperBenchmark {
+    private static final String REQUEST = "{\"senderId\":\"05dec89b-7a3a-45b5-9c51-eca2a27bf604\","
+            + "\"message\":{\"method\":\"voteLiar\",\"body\":{\"liar\":\"9c80fe59-66f8-4634-a26f-2eb3f391cd42\"}},"
+            + "\"uuid\":\"2d9c4a0e-8a67-4b9b-9d0c-3f0b1b7d7a11\"}";
+    private static final ErrorResult ERROR = new ErrorResult("400", "Current State is not VOTE_LIAR. state:IN_PROGRESS");
+
+    private MessageJsonMapper messageJsonMapper;
+
+    @Setup
+    public void setup() {
+        messageJsonMapper = new MessageJsonMapper();
+    }
+
+    @Benchmark
+    public String perMessageMapper() throws Exception {
+        MessageContainer request = new ObjectMapper().readValue(REQUEST, MessageContainer.class);
+        return request.getSenderId() + new ObjectMapper().writeValueAsString(ERROR);
+    }
+
+    @Benchmark
+    public String sharedMapper() throws Exception {
+        MessageContainer request = messageJsonMapper.readMessage(REQUEST);
+        return request.getSenderId() + messageJsonMapper.writeValueAsString(ERROR);
+    }
+}
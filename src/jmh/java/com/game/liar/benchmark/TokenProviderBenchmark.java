@@ -0,0 +1,45 @@
+package com.game.liar.benchmark;
+
+import com.game.liar.security.domain.TokenProvider;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.Collections;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JWT handling of every STOMP frame which carries the Authorization header
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TokenProviderBenchmark {
+    private static final String SECRET = "Mjg1MGNjZTAtOWFlMC00YTdkLThmYWYtMDE0NDlmNDk0ZGZidGhpcy1pcy1saWFyLWdhbWUtand0LXRva2VuLWtleTljODBmZTU5LTY2ZjgtNDYzNC1hMjZmLTJlYjNmMzkxY2Q0MmQ3MDYzOWUxLTMyMjQtNDYwMS1hYTQwLTk5OWJiOWUwODI4NA==";
+
+    private TokenProvider tokenProvider;
+    private String accessToken;
+
+    @Setup
+    public void setup() {
+        tokenProvider = new TokenProvider(SECRET);
+        String subject = UUID.randomUUID().toString() + UUID.randomUUID();
+        accessToken = tokenProvider.generateTokenDto(new UsernamePasswordAuthenticationToken(subject, "",
+                Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER")))).getAccessToken();
+    }
+
+    @Benchmark
+    public Claims parseClaims() {
+        return tokenProvider.parseClaims(accessToken);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return tokenProvider.validateToken(accessToken);
+    }
+}
@@ -0,0 +1,40 @@
+package com.game.liar.chat.controller;
+
+import com.game.liar.chat.dto.ChatHistoryResponse;
+import com.game.liar.chat.service.ChatHistory;
+import com.game.liar.exception.NotAllowedActionException;
+import com.game.liar.room.service.RoomService;
+import com.game.liar.security.util.SecurityUtil;
+import io.swagger.annotations.ApiImplicitParam;
+import io.swagger.annotations.ApiImplicitParams;
+import io.swagger.annotations.ApiOperation;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@Slf4j
+@RequiredArgsConstructor
+public class ChatHistoryController {
+    private final ChatHistory chatHistory;
+    private final RoomService roomService;
+
+    @GetMapping("/room/chat")
+    @ApiOperation(value = "채팅 기록 조회", notes = "토큰의 방의 최근 채팅을 조회한다. since 가 주어지면 그 이후의 채팅을 조회한다")
+    @ApiImplicitParams({
+            @ApiImplicitParam(name = "since", value = "마지막으로 받은 채팅 순번"),
+            @ApiImplicitParam(name = "limit", value = "최대 채팅 수")
+    })
+    public ChatHistoryResponse history(@RequestParam(value = "since", required = false) Long since,
+                                       @RequestParam(value = "limit", defaultValue = "50") int limit) {
+        String roomId = SecurityUtil.getCurrentRoomId();
+        if (!roomService.isMember(roomId, SecurityUtil.getCurrentUserId()))
+            throw new NotAllowedActionException("Only members of the room can read its chat");
+        log.debug("[history] [room:{}] since :{}, limit :{}", roomId, since, limit);
+        if (since == null)
+            return chatHistory.last(roomId, limit);
+        return chatHistory.since(roomId, since, limit);
+    }
+}
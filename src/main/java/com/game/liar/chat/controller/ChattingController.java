@@ -1,10 +1,11 @@
 package com.game.liar.chat.controller;
 
 import com.game.liar.chat.domain.ChatMessageDto;
+import com.game.liar.chat.service.ChatHistory;
 import com.game.liar.chat.service.ChattingService;
 import com.game.liar.exception.NotExistException;
+import com.game.liar.game.service.MessageService;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.messaging.handler.annotation.DestinationVariable;
 import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.messaging.handler.annotation.Payload;
@@ -14,21 +15,26 @@ import org.springframework.stereotype.Controller;
 @Slf4j
 public class ChattingController {
     private final ChattingService chattingService;
-    private final RabbitTemplate messagingTemplate;
+    private final MessageService messageService;
+    private final ChatHistory chatHistory;
 
-    public ChattingController(ChattingService chattingService, RabbitTemplate messagingTemplate) {
+    public ChattingController(ChattingService chattingService, MessageService messageService, ChatHistory chatHistory) {
         this.chattingService = chattingService;
-        this.messagingTemplate = messagingTemplate;
+        this.messageService = messageService;
+        this.chatHistory = chatHistory;
     }
 
     @MessageMapping("messages.{roomId}")
     public void chat(@Payload ChatMessageDto message, @DestinationVariable("roomId") String roomId) {
         try {
-            chattingService.save(message, roomId);
+            chattingService.checkRoomExists(roomId);
         } catch (NotExistException e) {
             log.error("No room in the server");
             return;
         }
-        messagingTemplate.convertAndSend("amq.topic", String.format("room.%s.chat", roomId), message);
+        //save only queues the message, it is persisted in the background
+        chattingService.save(message, roomId);
+        chatHistory.append(roomId, message);
+        messageService.sendChatMessage(roomId, message);
     }
 }
@@ -14,8 +14,13 @@ import javax.persistence.*;
 @Entity
 @Builder
 public class ChatMessage extends BaseTimeEntity {
+    /**
+     * Ids are allocated from a table in blocks, so inserts can be batched unlike IDENTITY
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "chat_message_id")
+    @TableGenerator(name = "chat_message_id", table = "id_generator", pkColumnName = "name", valueColumnName = "next_id",
+            pkColumnValue = "chat_message", allocationSize = 100)
     private Long id;
 
     @Embedded
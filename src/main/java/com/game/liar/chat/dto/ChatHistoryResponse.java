@@ -0,0 +1,35 @@
+package com.game.liar.chat.dto;
+
+import com.game.liar.game.domain.Global;
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+@EqualsAndHashCode
+public class ChatHistoryResponse {
+    private List<Entry> messages;
+    /**
+     * Sequence number of the latest message of the room, 0 when the room has no message
+     */
+    private Long lastSeq;
+    /**
+     * True when some requested messages are no longer kept in the history
+     */
+    private boolean truncated;
+
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @ToString
+    @EqualsAndHashCode
+    public static class Entry {
+        private Long seq;
+        private String senderId;
+        private String message;
+        private Global.MessageType type;
+    }
+}
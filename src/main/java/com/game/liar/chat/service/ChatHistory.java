@@ -0,0 +1,130 @@
+package com.game.liar.chat.service;
+
+import com.game.liar.chat.domain.ChatMessageDto;
+import com.game.liar.chat.dto.ChatHistoryResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Recent chat messages of each room, kept in a fixed size ring so late joiners can replay them without reading DB.
+ * Every message gets a sequence number increasing per room, clients fetch the messages after the last one they saw.
+ * Rooms without chat for {@code chat.history.idle-timeout} are dropped, deleted rooms are dropped right away.
+ * <p>
+ * The history is kept in the memory of each instance and holds only the chat relayed through it.
+ * With the clustered relay broker(several instances) instances see different histories and sequence numbers,
+ * so replay is complete only in a single instance deployment.
+ */
+@Component
+@Slf4j
+public class ChatHistory {
+    private final int capacity;
+    private final long idleTimeout;
+    private final Map<String, Ring> rings = new ConcurrentHashMap<>();
+
+    public ChatHistory(@Value("${chat.history.capacity:100}") int capacity,
+                       @Value("${chat.history.idle-timeout:1800000}") long idleTimeout) {
+        if (capacity <= 0)
+            throw new IllegalArgumentException("chat history capacity should be positive");
+        this.capacity = capacity;
+        this.idleTimeout = idleTimeout;
+    }
+
+    /**
+     * @return sequence number given to the message
+     */
+    public long append(String roomId, ChatMessageDto message) {
+        return rings.computeIfAbsent(roomId, id -> new Ring(capacity)).append(message, System.currentTimeMillis());
+    }
+
+    /**
+     * Last {@code count} messages of the room, oldest first
+     */
+    public ChatHistoryResponse last(String roomId, int count) {
+        Ring ring = rings.get(roomId);
+        if (ring == null)
+            return new ChatHistoryResponse(new ArrayList<>(), 0L, false);
+        return ring.last(count);
+    }
+
+    /**
+     * Messages after the given sequence number, at most {@code limit} of them, oldest first.
+     * The response is truncated when messages after the sequence number are already overwritten,
+     * or when the sequence number is unknown to this history(e.g. it was evicted), so the client should reload with {@link #last}.
+     */
+    public ChatHistoryResponse since(String roomId, long seq, int limit) {
+        Ring ring = rings.get(roomId);
+        if (ring == null)
+            return new ChatHistoryResponse(new ArrayList<>(), 0L, seq > 0);
+        return ring.since(seq, limit);
+    }
+
+    public void remove(String roomId) {
+        rings.remove(roomId);
+    }
+
+    @Scheduled(fixedDelayString = "${chat.history.sweep-interval:60000}")
+    public void evictIdle() {
+        long threshold = System.currentTimeMillis() - idleTimeout;
+        rings.entrySet().removeIf(entry -> {
+            boolean idle = entry.getValue().lastAppendedAt() < threshold;
+            if (idle)
+                log.debug("[ChatHistory] evict idle [room:{}]", entry.getKey());
+            return idle;
+        });
+    }
+
+    private static class Ring {
+        private final ChatHistoryResponse.Entry[] entries;
+        private long lastSeq;
+        private long lastAppendedAt;
+
+        Ring(int capacity) {
+            entries = new ChatHistoryResponse.Entry[capacity];
+        }
+
+        synchronized long append(ChatMessageDto message, long now) {
+            long seq = ++lastSeq;
+            entries[index(seq)] = new ChatHistoryResponse.Entry(seq, message.getSenderId(), message.getMessage(), message.getType());
+            lastAppendedAt = now;
+            return seq;
+        }
+
+        synchronized ChatHistoryResponse last(int count) {
+            long from = Math.max(oldestSeq(), lastSeq - Math.max(count, 0) + 1);
+            return new ChatHistoryResponse(copy(from, lastSeq), lastSeq, false);
+        }
+
+        synchronized ChatHistoryResponse since(long seq, int limit) {
+            long from = Math.max(seq + 1, oldestSeq());
+            long to = Math.min(lastSeq, from + Math.max(limit, 0) - 1);
+            return new ChatHistoryResponse(copy(from, to), lastSeq, from > seq + 1 || seq > lastSeq);
+        }
+
+        synchronized long lastAppendedAt() {
+            return lastAppendedAt;
+        }
+
+        private long oldestSeq() {
+            return Math.max(1, lastSeq - entries.length + 1);
+        }
+
+        private List<ChatHistoryResponse.Entry> copy(long from, long to) {
+            List<ChatHistoryResponse.Entry> result = new ArrayList<>((int) Math.max(to - from + 1, 0));
+            for (long seq = from; seq <= to; seq++) {
+                result.add(entries[index(seq)]);
+            }
+            return result;
+        }
+
+        private int index(long seq) {
+            return (int) ((seq - 1) % entries.length);
+        }
+    }
+}
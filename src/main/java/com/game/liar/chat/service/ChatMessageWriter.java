@@ -0,0 +1,93 @@
+package com.game.liar.chat.service;
+
+import com.game.liar.chat.domain.ChatMessage;
+import com.game.liar.chat.repository.ChatRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Persists chat messages in batches after they are relayed. Messages wait in a bounded queue,
+ * when it is full or a batch fails the messages are dropped and counted.
+ */
+@Component
+@Slf4j
+public class ChatMessageWriter {
+    private final ChatRepository chatRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<ChatMessage> queue;
+    private final int flushBatchSize;
+    private final Timer flushLatency;
+    private final Counter dropped;
+    private final Counter failed;
+
+    public ChatMessageWriter(ChatRepository chatRepository, PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+                             @Value("${chat.writer.queue-capacity:10000}") int queueCapacity,
+                             @Value("${chat.writer.flush-batch-size:100}") int flushBatchSize) {
+        this.chatRepository = chatRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.flushBatchSize = flushBatchSize;
+
+        Gauge.builder("chat.writer.queued", queue, BlockingQueue::size)
+                .description("Chat messages waiting to be persisted")
+                .register(meterRegistry);
+        flushLatency = Timer.builder("chat.writer.flush")
+                .description("Time to persist one batch of chat messages")
+                .register(meterRegistry);
+        dropped = Counter.builder("chat.writer.dropped").tag("reason", "overloaded").register(meterRegistry);
+        failed = Counter.builder("chat.writer.dropped").tag("reason", "failed").register(meterRegistry);
+    }
+
+    /**
+     * @return false if the queue is full, then the message is not persisted
+     */
+    public boolean write(ChatMessage message) {
+        if (queue.offer(message))
+            return true;
+        dropped.increment();
+        log.warn("[ChatMessageWriter] queue is full, message is not persisted : {}", message);
+        return false;
+    }
+
+    @Scheduled(fixedDelayString = "${chat.writer.flush-interval:200}")
+    public synchronized void flush() {
+        List<ChatMessage> batch = new ArrayList<>(flushBatchSize);
+        while (queue.drainTo(batch, flushBatchSize) > 0) {
+            saveBatch(batch);
+            batch = new ArrayList<>(flushBatchSize);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        log.info("[ChatMessageWriter] flush before shutdown. queued : {}", queue.size());
+        flush();
+    }
+
+    private void saveBatch(List<ChatMessage> batch) {
+        Timer.Sample sample = Timer.start();
+        try {
+            transactionTemplate.executeWithoutResult(status -> chatRepository.saveAll(batch));
+            log.debug("[ChatMessageWriter] {} messages flushed", batch.size());
+        } catch (RuntimeException e) {
+            failed.increment(batch.size());
+            log.error("[ChatMessageWriter] {} messages are not persisted", batch.size(), e);
+        } finally {
+            sample.stop(flushLatency);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.game.liar.exception;
 
+import com.game.liar.chat.controller.ChatHistoryController;
 import com.game.liar.room.controller.RoomController;
 import com.game.liar.room.service.RoomService;
 import org.springframework.http.HttpStatus;
@@ -13,7 +14,7 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 import java.util.HashSet;
 import java.util.Set;
 
-@RestControllerAdvice(assignableTypes = {RoomController.class})
+@RestControllerAdvice(assignableTypes = {RoomController.class, ChatHistoryController.class})
 public class ExceptionControlAdvice {
 
     @ResponseStatus(HttpStatus.BAD_REQUEST)
@@ -0,0 +1,17 @@
+package com.game.liar.exception;
+
+import com.game.liar.game.dto.SubjectImportResult;
+import lombok.Getter;
+
+/**
+ * Import stopped by a malformed input. The result tells how far it got, chunks committed before stay imported.
+ */
+public class SubjectImportException extends JsonDeserializeException {
+    @Getter
+    private final SubjectImportResult result;
+
+    public SubjectImportException(String message, SubjectImportResult result) {
+        super(message);
+        this.result = result;
+    }
+}
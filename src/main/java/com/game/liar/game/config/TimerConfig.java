@@ -1,19 +1,49 @@
 package com.game.liar.game.config;
 
 
+import io.netty.util.HashedWheelTimer;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+
+import javax.annotation.PreDestroy;
+import java.util.concurrent.TimeUnit;
 
 @Configuration
 @EnableScheduling
-public class TimerConfig {
-    @Bean
-    public TimerInfoThreadPoolTaskScheduler taskScheduler(){
-        TimerInfoThreadPoolTaskScheduler scheduler = new TimerInfoThreadPoolTaskScheduler();
-        scheduler.setPoolSize(10);
-        scheduler.setThreadNamePrefix("Timer Scheduler Thread-");
-        scheduler.initialize();
-        return scheduler;
+public class TimerConfig implements SchedulingConfigurer {
+    private final ThreadPoolTaskScheduler jobScheduler = new ThreadPoolTaskScheduler();
+
+    public TimerConfig(@Value("${game.scheduler.pool-size:4}") int poolSize) {
+        jobScheduler.setPoolSize(poolSize);
+        jobScheduler.setThreadNamePrefix("scheduled-job-");
+        jobScheduler.initialize();
+    }
+
+    @Bean(destroyMethod = "stop")
+    public HashedWheelTimer gameTimer(@Value("${game.timer.tick-duration:50}") long tickDuration,
+                                      @Value("${game.timer.ticks-per-wheel:512}") int ticksPerWheel) {
+        HashedWheelTimer timer = new HashedWheelTimer(new CustomizableThreadFactory("Timer Wheel Thread-"), tickDuration, TimeUnit.MILLISECONDS, ticksPerWheel);
+        timer.start();
+        return timer;
+    }
+
+    /**
+     * Scheduled jobs(write-behind flushes, subject reload, chat history sweep) run on their own pool, a thread per job,
+     * so a slow job does not hold back the 200ms flushes. Not a bean, the broker keeps its own heartbeat scheduler
+     */
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
+        taskRegistrar.setTaskScheduler(jobScheduler);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        jobScheduler.shutdown();
     }
 }
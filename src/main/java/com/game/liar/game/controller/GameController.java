@@ -1,30 +1,38 @@
 package com.game.liar.game.controller;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.game.liar.exception.ErrorResult;
 import com.game.liar.exception.JsonDeserializeException;
 import com.game.liar.exception.LiarGameException;
+import com.game.liar.exception.NotAllowedActionException;
 import com.game.liar.game.domain.GameInfo;
 import com.game.liar.game.domain.Global;
 import com.game.liar.game.dto.MessageContainer;
 import com.game.liar.game.dto.response.*;
 import com.game.liar.game.service.GameService;
 import com.game.liar.game.service.MessageService;
+import com.game.liar.game.service.RoomCommandExecutor;
+import com.game.liar.messagequeue.codec.MessageCodec;
+import com.game.liar.messagequeue.codec.MessageCodecs;
 import com.game.liar.room.domain.RoomId;
 import com.game.liar.room.dto.UserDataDto;
 import com.game.liar.room.event.UserAddedEvent;
 import com.game.liar.room.event.UserRemovedEvent;
+import com.game.liar.utils.MessageJsonMapper;
+import com.game.liar.websocket.StompPrincipal;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.event.EventListener;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
 import org.springframework.messaging.handler.annotation.DestinationVariable;
+import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.messaging.handler.annotation.MessageExceptionHandler;
 import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.messaging.handler.annotation.Payload;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.io.IOException;
+import java.security.Principal;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
@@ -37,81 +45,118 @@ import static com.game.liar.game.domain.Global.*;
 public class GameController {
     private MessageService messageService;
     private GameService gameService;
+    private RoomCommandExecutor roomCommandExecutor;
+    private MessageJsonMapper messageJsonMapper;
+    private MessageCodecs messageCodecs;
 
-    public GameController(MessageService messageService, GameService gameService) {
+    public GameController(MessageService messageService, GameService gameService, RoomCommandExecutor roomCommandExecutor, MessageJsonMapper messageJsonMapper, MessageCodecs messageCodecs) {
         this.messageService = messageService;
         this.gameService = gameService;
+        this.roomCommandExecutor = roomCommandExecutor;
+        this.messageJsonMapper = messageJsonMapper;
+        this.messageCodecs = messageCodecs;
     }
 
     //TODO : refactoring
-    @SneakyThrows
     @MessageExceptionHandler
     //@SendToUser(destinations = "/subscribe/errors", broadcast = false)
-    public void LiarGameExceptionHandler(LiarGameException ex, String requestStr) {
-        log.info("LiarGameExceptionHandler error {} from [request:{}]", ex.getMessage(), requestStr);
+    public void LiarGameExceptionHandler(LiarGameException ex, Message<byte[]> message) {
+        MessageCodec codec = messageCodecs.forContentType(message.getHeaders().get(MessageHeaders.CONTENT_TYPE));
         MessageContainer request;
-        ObjectMapper objectMapper = new ObjectMapper();
         try {
-            request = objectMapper.readValue(requestStr, MessageContainer.class);
-        } catch (JsonProcessingException e) {
+            request = asSessionUser(codec.read(message.getPayload()), StompPrincipal.of(message));
+        } catch (IOException e) {
             //TODO: Find how to send message to user directly
-            log.error("Json Parsing error : ex from [request:{}]", requestStr);
+            log.error("{} parsing error : ex from [request:{}]", codec, ex.getMessage());
 //            return MessageContainer.messageContainerBuilder()
 //                    .senderId("SERVER")
 //                    .message(new MessageContainer.Message(null, new ErrorResponse(objectMapper.writeValueAsString(new ErrorResult(ex.getCode(), ex.getMessage())))))
 //                    .build();
             return;
         }
+        sendError(ex, request);
+    }
+
+    @SneakyThrows
+    private void sendError(LiarGameException ex, MessageContainer request) {
+        log.info("LiarGameExceptionHandler error {} from [request:{}]", ex.getMessage(), request);
         messageService.sendErrorMessage(request.getUuid(), new MessageContainer.Message(
                 apiRequestMapper.get(request.getMessage().getMethod()) != null ? apiRequestMapper.get(request.getMessage().getMethod()) : "METHOD_ERROR"
-                , new ErrorResponse(objectMapper.writeValueAsString(new ErrorResult(ex.getCode(), ex.getMessage())))), request.getSenderId());
+                , new ErrorResponse(messageJsonMapper.writeValueAsString(new ErrorResult(ex.getCode(), ex.getMessage())))), request.getSenderId());
     }
 
+    /**
+     * Payload is decoded with the codec of the STOMP content-type header, JSON when the header is missing
+     */
     @MessageMapping("private.{roomId}")
-    public void handlePrivateMessage(@Payload String requestStr, @DestinationVariable("roomId") String roomId) throws JsonDeserializeException {
-        log.info("[private] message from room id({}) : {}", roomId, requestStr);
-        messageHandler(roomId, requestStr);
+    public void handlePrivateMessage(@Payload byte[] payload, @Header(value = MessageHeaders.CONTENT_TYPE, required = false) Object contentType,
+                                     @DestinationVariable("roomId") String roomId, Principal principal) throws JsonDeserializeException {
+        MessageCodec codec = messageCodecs.forContentType(contentType);
+        log.info("[private] {} message from room id({}) : {} bytes", codec, roomId, payload.length);
+        if (!(principal instanceof StompPrincipal) || !((StompPrincipal) principal).getRoomId().equals(roomId))
+            throw new NotAllowedActionException("You can send messages only to your room");
+        messageHandler(roomId, payload, codec, (StompPrincipal) principal);
     }
 
-    private void messageHandler(String roomId, String requestStr) throws JsonDeserializeException {
+    private void messageHandler(String roomId, byte[] payload, MessageCodec codec, StompPrincipal principal) throws JsonDeserializeException {
         if (gameService.checkRoomExist(RoomId.of(roomId))) {
             MessageContainer request;
             try {
-                ObjectMapper objectMapper = new ObjectMapper();
-                request = objectMapper.readValue(requestStr, MessageContainer.class);
-            } catch (JsonProcessingException e) {
+                request = asSessionUser(codec.read(payload), principal);
+            } catch (IOException e) {
                 throw new JsonDeserializeException("JSON format doest not fit for JAVA object. Please check reference");
             }
             String method = request.getMessage().getMethod();
-            messageMapper.get(method).process(request, roomId);
+            ProcessGame processGame = messageMapper.get(method);
+            //같은 room의 요청은 room의 mailbox에서 순서대로 하나씩 처리된다
+            //요청 하나가 만든 메세지는 처리가 끝난 뒤 한번에 보낸다
+            roomCommandExecutor.execute(roomId, () -> messageService.batch(() -> {
+                try {
+                    processGame.process(request, roomId);
+                } catch (LiarGameException e) {
+                    sendError(e, request);
+                } catch (RuntimeException e) {
+                    log.error("[private] request failed from [room:{}][request:{}]", roomId, request, e);
+                    sendError(new LiarGameException("Internal server error", "Internal Error"), request);
+                } finally {
+                    gameService.publishStateChanges(roomId);
+                }
+            }));
         } else {
             log.error("mapped room id does not exist, room id : {}", roomId);
         }
     }
 
+    /**
+     * senderId of the payload is replaced with the user bound to the session on CONNECT
+     */
+    private MessageContainer asSessionUser(MessageContainer request, StompPrincipal principal) {
+        return principal == null ? request : request.withSenderId(principal.getUserId());
+    }
+
     @EventListener
-    @Async
     public void onUserAdded(UserAddedEvent event) {
         log.info("[onUserAdded] user Added. event :{}", event);
         String roomId = event.getRoomId();
         UserDataDto user = event.getUser();
         if (roomId == null || user == null)
             throw new IllegalArgumentException("room id/user info should be required");
-        gameService.addMember(roomId, user);
+        roomCommandExecutor.execute(roomId, () -> gameService.addMember(roomId, user));
     }
 
     @EventListener
-    @Async
     public void onUserRemoved(UserRemovedEvent event) {
         log.info("[onUserRemoved] user Removed. event :{}", event);
         String roomId = event.getRoomId();
         UserDataDto user = event.getUser();
         if (roomId == null || user == null)
             throw new IllegalArgumentException("room id/user info should be required");
-        gameService.deleteMember(roomId, user);
+        roomCommandExecutor.execute(roomId, () -> {
+            gameService.deleteMember(roomId, user);
 
-        //TODO: user login/logout 한곳에서 관리
-        messageService.sendLoginInfoMessage(roomId, new LoginInfo(roomId, user.getUserId(), false));
+            //TODO: user login/logout 한곳에서 관리
+            messageService.sendLoginInfoMessage(roomId, new LoginInfo(roomId, user.getUserId(), false));
+        });
     }
 
     @FunctionalInterface
@@ -202,6 +247,12 @@ public class GameController {
         messageService.sendPrivateMessage(request.getUuid(), new MessageContainer.Message(NOTIFY_GAME_CATEGORY, body), request.getSenderId(), roomId);
     };
 
+    ProcessGame requestStateSync = (request, roomId) -> {
+        StateSyncResponse body = gameService.syncState(request, roomId);
+        log.info("[API]requestStateSync [mode:{}][seq:{}] to [user:{}]", body.getMode(), body.getSeq(), request.getSenderId());
+        messageService.sendPrivateMessage(request.getUuid(), new MessageContainer.Message(NOTIFY_STATE_SYNC, body), request.getSenderId(), roomId);
+    };
+
     private void notifyRoundEnd(MessageContainer request, String roomId) {
         RoundResponse round = gameService.notifyRoundEnd(roomId);
         log.info("[API]notifyRoundEnd from [room:{}]", roomId);
@@ -230,6 +281,7 @@ public class GameController {
             put(Global.GET_GATE_STATE, getGameState);
             put(Global.REQUEST_TURN_FINISH, requestTurnFinished);
             put(Global.GET_GAME_CATEGORY, getGameCategory);
+            put(Global.REQUEST_STATE_SYNC, requestStateSync);
         }
     };
 }
\ No newline at end of file
@@ -1,11 +1,15 @@
 package com.game.liar.game.controller;
 
 
+import com.game.liar.exception.SubjectImportException;
 import com.game.liar.game.dto.GameSubjectDto;
+import com.game.liar.game.dto.SubjectImportResult;
+import com.game.liar.game.service.GameSubjectImporter;
 import com.game.liar.game.service.GameSubjectService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -13,6 +17,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
@@ -20,6 +25,7 @@ import java.util.List;
 @Slf4j
 public class GameSubjectController {
     private final GameSubjectService gameSubjectService;
+    private final GameSubjectImporter gameSubjectImporter;
 
     @GetMapping("/game/categories")
     public List<String> getAllCategories() {
@@ -41,4 +47,19 @@ public class GameSubjectController {
         gameSubjectService.addSubjects(request);
         return ResponseEntity.status(HttpStatus.OK).body(null);
     }
+
+    /**
+     * Body is a JSON array or NDJSON of subjects, read as a stream.
+     * A malformed input is answered with 400 and the progress so far, the subjects committed before it are served right away.
+     */
+    @PostMapping(value = "/game/subjects/import", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<SubjectImportResult> importSubjects(InputStream request) {
+        try {
+            return ResponseEntity.ok(gameSubjectImporter.importSubjects(request));
+        } catch (SubjectImportException e) {
+            return ResponseEntity.badRequest().body(e.getResult());
+        } finally {
+            gameSubjectService.refresh();
+        }
+    }
 }
@@ -26,6 +26,11 @@ public class GameInfo {
     private boolean voteTimerRunning;
     @Getter
     private boolean answerTimerRunning;
+    /**
+     * Id of the running timer. A timeout of the other timer is stale
+     */
+    @Getter
+    private String timerId;
     @Enumerated
     private GameState state;
 
@@ -144,31 +149,41 @@ public class GameInfo {
     public void cancelTurnTimer() {
         log.info("cancel turn timer [room:{}]", roomId);
         turnTimerRunning = false;
+        timerId = null;
     }
 
     public void cancelVoteTimer() {
         log.info("cancel vote timer [room:{}]", roomId);
         voteTimerRunning = false;
+        timerId = null;
     }
 
     public void cancelAnswerTimer() {
         log.info("cancel liar answer timer [room:{}]", roomId);
         answerTimerRunning = false;
+        timerId = null;
     }
 
-    public void startTurnTimer() {
+    public void startTurnTimer(String timerId) {
         log.info("start turn timer [room:{}]", roomId);
         turnTimerRunning = true;
+        this.timerId = timerId;
     }
 
-    public void startVoteTimer() {
+    public void startVoteTimer(String timerId) {
         log.info("start vote timer [room:{}]", roomId);
         voteTimerRunning = true;
+        this.timerId = timerId;
     }
 
-    public void startAnswerTimer() {
+    public void startAnswerTimer(String timerId) {
         log.info("start liar answer timer [room:{}]", roomId);
         answerTimerRunning = true;
+        this.timerId = timerId;
+    }
+
+    public boolean isCurrentTimer(String timerId) {
+        return timerId == null || timerId.equals(this.timerId);
     }
 
     public boolean isLastTurn() {
@@ -262,6 +277,34 @@ public class GameInfo {
         state = GameState.BEFORE_START;
     }
 
+    private GameInfo(GameInfo source) {
+        this.turnTimerRunning = source.turnTimerRunning;
+        this.voteTimerRunning = source.voteTimerRunning;
+        this.answerTimerRunning = source.answerTimerRunning;
+        this.timerId = source.timerId;
+        this.state = source.state;
+        this.roomId = source.roomId;
+        this.ownerId = source.ownerId;
+        this.gameSettings = source.gameSettings == null ? null : source.gameSettings.copy();
+        this.currentRound = source.currentRound;
+        this.currentTurn = source.currentTurn;
+        this.liarId = source.liarId;
+        this.currentRoundCategory = source.currentRoundCategory;
+        this.currentRoundKeyword = source.currentRoundKeyword;
+        this.turnOrder = new ArrayList<>(source.turnOrder);
+        this.voteResult = new HashMap<>(source.voteResult);
+        this.voteCount = source.voteCount;
+        this.liarAnswer = source.liarAnswer;
+        this.scoreboard = new HashMap<>(source.scoreboard);
+    }
+
+    /**
+     * Detached copy of current state. Used to persist the game without sharing mutable collections
+     */
+    public GameInfo snapshot() {
+        return new GameInfo(this);
+    }
+
     public GameState nextState() {
         return state = state.next();
     }
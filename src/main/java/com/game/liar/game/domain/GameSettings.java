@@ -44,6 +44,15 @@ public class GameSettings extends MessageBase {
         this.category = category;
     }
 
+    public GameSettings copy() {
+        GameSettings settings = new GameSettings(round, turn, category == null ? null : new ArrayList<>(category));
+        if (selectedByRoomOwnerCategory != null) {
+            settings.selectedByRoomOwnerCategory = new HashMap<>();
+            selectedByRoomOwnerCategory.forEach((key, value) -> settings.selectedByRoomOwnerCategory.put(key, new ArrayList<>(value)));
+        }
+        return settings;
+    }
+
     public void initializeCategory(Map<String, List<String>> subjects, List<String> categoryList) {
         log.info("subjects = {}, categories = {}", subjects, categoryList);
         selectedByRoomOwnerCategory = new HashMap<>();
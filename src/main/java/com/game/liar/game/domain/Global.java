@@ -32,6 +32,9 @@ public class Global {
     public static final String NOTIFY_GAME_END = "notifyGameEnd";
     public static final String NOTIFY_GAME_STATE = "notifyGameState";
     public static final String NOTIFY_GAME_CATEGORY = "notifyGameCategory";
+    public static final String NOTIFY_BATCH = "notifyBatch";
+    public static final String NOTIFY_STATE_PATCH = "notifyStatePatch";
+    public static final String NOTIFY_STATE_SYNC = "notifyStateSync";
     /**
      * Client -> Server method
      **/
@@ -49,6 +52,7 @@ public class Global {
     public static final String PUBLISH_RANKINGS = "publishRankings";
     public static final String GET_GATE_STATE = "getGameState";
     public static final String GET_GAME_CATEGORY = "getGameCategory";
+    public static final String REQUEST_STATE_SYNC = "requestStateSync";
 
     //Common
     public static final String SERVER_ID = "SERVER";
@@ -71,6 +75,7 @@ public class Global {
         put(PUBLISH_RANKINGS, NOTIFY_RANKINGS_PUBLISHED);
         put(GET_GATE_STATE, NOTIFY_GAME_STATE);
         put(GET_GAME_CATEGORY, NOTIFY_GAME_CATEGORY);
+        put(REQUEST_STATE_SYNC, NOTIFY_STATE_SYNC);
     }};
 
     @AllArgsConstructor
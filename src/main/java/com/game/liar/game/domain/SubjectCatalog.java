@@ -0,0 +1,54 @@
+package com.game.liar.game.domain;
+
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable snapshot of the game subjects, keywords of each category in sorted order.
+ * A change makes a new snapshot with the next version, so a snapshot can be shared by every game without copying.
+ */
+@Getter
+@ToString
+public class SubjectCatalog {
+    private final long version;
+    private final Map<String, List<String>> subjects;
+    private final List<String> categories;
+
+    private SubjectCatalog(long version, Map<String, List<String>> subjects) {
+        this.version = version;
+        Map<String, List<String>> copy = new HashMap<>();
+        subjects.forEach((category, keywords) -> copy.put(category, Collections.unmodifiableList(new ArrayList<>(keywords))));
+        this.subjects = Collections.unmodifiableMap(copy);
+        this.categories = Collections.unmodifiableList(copy.keySet().stream().sorted().collect(Collectors.toList()));
+    }
+
+    public static SubjectCatalog of(long version, Collection<GameSubject> gameSubjects) {
+        Map<String, List<String>> subjects = gameSubjects.stream().sorted()
+                .collect(Collectors.groupingBy(GameSubject::getCategory, HashMap::new,
+                        Collectors.mapping(GameSubject::getKeyword, Collectors.toList())));
+        subjects.replaceAll((category, keywords) -> keywords.stream().distinct().collect(Collectors.toList()));
+        return new SubjectCatalog(version, subjects);
+    }
+
+    /**
+     * Next version with the keyword added, or this snapshot if it already has the keyword
+     */
+    public SubjectCatalog with(String category, String keyword) {
+        List<String> keywords = subjects.get(category);
+        if (keywords != null && keywords.contains(keyword))
+            return this;
+        Map<String, List<String>> next = new HashMap<>(subjects);
+        List<String> nextKeywords = keywords == null ? new ArrayList<>() : new ArrayList<>(keywords);
+        nextKeywords.add(keyword);
+        Collections.sort(nextKeywords);
+        next.put(category, nextKeywords);
+        return new SubjectCatalog(version + 1, next);
+    }
+
+    public boolean isEmpty() {
+        return subjects.isEmpty();
+    }
+}
@@ -1,5 +1,6 @@
 package com.game.liar.game.dto;
 
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import lombok.*;
 
 import javax.validation.constraints.NotBlank;
@@ -26,6 +27,7 @@ public class MessageContainer {
     @AllArgsConstructor
     @NoArgsConstructor
     @EqualsAndHashCode
+    @JsonDeserialize(using = MessageDeserializer.class)
     public static class Message {
         @NotBlank
         String method;
@@ -40,6 +42,13 @@ public class MessageContainer {
         }
     }
 
+    /**
+     * Same message sent by the given user. The sender is taken from the session, not from the payload
+     */
+    public MessageContainer withSenderId(String senderId) {
+        return new MessageContainer(senderId, message, uuid);
+    }
+
     public static MessageContainerBuilder builder(MessageContainer.Message message) {
         if (message == null) {
             throw new IllegalArgumentException("필수 메세지 누락");
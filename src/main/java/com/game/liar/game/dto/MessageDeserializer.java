@@ -0,0 +1,84 @@
+package com.game.liar.game.dto;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.game.liar.game.dto.request.GameSettingsRequest;
+import com.game.liar.game.dto.request.KeywordRequest;
+import com.game.liar.game.dto.request.StateSyncRequest;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.game.liar.game.domain.Global.*;
+
+/**
+ * Deserialize the body of {@link MessageContainer.Message} with the type selected by its method.
+ * The body is streamed straight into the type, it is buffered only when it comes before the method.
+ * A method without registered type(e.g. server to client messages, which may carry an error instead) falls back to {@link CustomDeserializer}.
+ */
+public class MessageDeserializer extends StdDeserializer<MessageContainer.Message> {
+    private static final Map<String, Class<? extends MessageBase>> BODY_TYPES;
+
+    static {
+        Map<String, Class<? extends MessageBase>> bodyTypes = new HashMap<>();
+        bodyTypes.put(START_GAME, GameSettingsRequest.class);
+        bodyTypes.put(VOTE_LIAR, LiarDesignateDto.class);
+        bodyTypes.put(CHECK_KEYWORD_CORRECT, KeywordRequest.class);
+        bodyTypes.put(REQUEST_STATE_SYNC, StateSyncRequest.class);
+        BODY_TYPES = Collections.unmodifiableMap(bodyTypes);
+    }
+
+    public MessageDeserializer() {
+        super(MessageContainer.Message.class);
+    }
+
+    @Override
+    public MessageContainer.Message deserialize(JsonParser p, DeserializationContext context) throws IOException {
+        JsonToken token = p.currentToken();
+        if (token == JsonToken.START_OBJECT)
+            token = p.nextToken();
+
+        String method = null;
+        boolean methodRead = false;
+        MessageBase body = null;
+        TokenBuffer bufferedBody = null;
+        for (; token == JsonToken.FIELD_NAME; token = p.nextToken()) {
+            String field = p.currentName();
+            p.nextToken();
+            if ("method".equals(field)) {
+                method = p.getValueAsString();
+                methodRead = true;
+            } else if ("body".equals(field)) {
+                if (methodRead)
+                    body = readBody(p, context, method);
+                else
+                    bufferedBody = context.bufferAsCopyOfValue(p);
+            } else {
+                context.handleUnknownProperty(p, this, MessageContainer.Message.class, field);
+            }
+        }
+        if (token != JsonToken.END_OBJECT)
+            return (MessageContainer.Message) context.handleUnexpectedToken(MessageContainer.Message.class, p);
+
+        if (bufferedBody != null) {
+            try (JsonParser bodyParser = bufferedBody.asParserOnFirstToken()) {
+                body = readBody(bodyParser, context, method);
+            }
+        }
+        return new MessageContainer.Message(method, body);
+    }
+
+    private MessageBase readBody(JsonParser p, DeserializationContext context, String method) throws IOException {
+        if (p.currentToken() == JsonToken.VALUE_NULL)
+            return null;
+        Class<? extends MessageBase> type = method == null ? null : BODY_TYPES.get(method);
+        if (type == null)
+            return context.readValue(p, MessageBase.class);
+        return context.readValue(p, type);
+    }
+}
@@ -0,0 +1,54 @@
+package com.game.liar.game.dto;
+
+import lombok.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@NoArgsConstructor
+@ToString
+public class SubjectImportResult {
+    private long read;
+    private long inserted;
+    private long duplicated;
+    private long invalid;
+    private String error;
+    private final List<Chunk> chunks = new ArrayList<>();
+
+    public void countRead() {
+        read++;
+    }
+
+    public void countDuplicated() {
+        duplicated++;
+    }
+
+    public void countInvalid() {
+        invalid++;
+    }
+
+    public void fail(String error) {
+        this.error = error;
+    }
+
+    public void addChunk(Chunk chunk) {
+        chunks.add(chunk);
+        inserted += chunk.getInserted();
+    }
+
+    /**
+     * Progress of the import when a chunk was committed
+     */
+    @Getter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @ToString
+    @EqualsAndHashCode
+    public static class Chunk {
+        private int index;
+        private int inserted;
+        private long read;
+        private long elapsedMillis;
+    }
+}
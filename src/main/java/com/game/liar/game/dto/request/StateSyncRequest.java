@@ -0,0 +1,20 @@
+package com.game.liar.game.dto.request;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.game.liar.game.dto.MessageBase;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+/**
+ * Sent by a client which missed a patch or reconnected. lastSeq is the sequence of the last patch it applied, null if none
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@JsonDeserialize
+@ToString
+public class StateSyncRequest extends MessageBase {
+    Long lastSeq;
+}
@@ -0,0 +1,21 @@
+package com.game.liar.game.dto.response;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.game.liar.game.dto.MessageBase;
+import com.game.liar.game.dto.MessageContainer;
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Messages to the same destination produced by one command, in the order they were sent
+ */
+@NoArgsConstructor
+@Getter
+@EqualsAndHashCode(callSuper = false)
+@AllArgsConstructor
+@ToString
+@JsonDeserialize
+public class BatchResponse extends MessageBase {
+    List<MessageContainer> messages;
+}
@@ -0,0 +1,45 @@
+package com.game.liar.game.dto.response;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.game.liar.game.dto.MessageBase;
+import lombok.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Changes of the game state made by one command. A client applies patches in seq order and asks for a sync on a gap
+ */
+@NoArgsConstructor
+@Getter
+@EqualsAndHashCode(callSuper = false)
+@AllArgsConstructor
+@ToString
+@JsonDeserialize
+public class StatePatchResponse extends MessageBase {
+    private long seq;
+    private List<Patch> patches = new ArrayList<>();
+
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @Getter
+    @EqualsAndHashCode
+    @ToString
+    public static class Patch {
+        public static final String STATE = "state";
+        public static final String ROUND = "round";
+        public static final String TURN = "turn";
+        public static final String TURN_ORDER = "turnOrder";
+        public static final String VOTE = "vote";
+        public static final String VOTES_CLEARED = "votesCleared";
+        public static final String SCORE = "score";
+        public static final String SCORES_CLEARED = "scoresCleared";
+
+        private String op;
+        /**
+         * user the patch is about, null for room wide patches
+         */
+        private String user;
+        private Object value;
+    }
+}
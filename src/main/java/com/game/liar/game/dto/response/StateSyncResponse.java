@@ -0,0 +1,50 @@
+package com.game.liar.game.dto.response;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.game.liar.game.domain.GameState;
+import com.game.liar.game.dto.MessageBase;
+import lombok.*;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DELTA : the patches after the requested seq. FULL : snapshot at seq, when the patches are not kept anymore
+ */
+@NoArgsConstructor
+@Getter
+@EqualsAndHashCode(callSuper = false)
+@AllArgsConstructor
+@ToString
+@JsonDeserialize
+public class StateSyncResponse extends MessageBase {
+    public static final String DELTA = "DELTA";
+    public static final String FULL = "FULL";
+
+    private String mode;
+    private long seq;
+    private List<StatePatchResponse> patches;
+    private Snapshot snapshot;
+
+    public static StateSyncResponse delta(long seq, List<StatePatchResponse> patches) {
+        return new StateSyncResponse(DELTA, seq, patches, null);
+    }
+
+    public static StateSyncResponse full(long seq, Snapshot snapshot) {
+        return new StateSyncResponse(FULL, seq, null, snapshot);
+    }
+
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @Getter
+    @EqualsAndHashCode
+    @ToString
+    public static class Snapshot {
+        private GameState state;
+        private Integer round;
+        private String turn;
+        private List<String> turnOrder;
+        private Map<String, String> voteResult;
+        private Map<String, Integer> scoreboard;
+    }
+}
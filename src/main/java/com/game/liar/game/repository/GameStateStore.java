@@ -0,0 +1,29 @@
+package com.game.liar.game.repository;
+
+import com.game.liar.game.domain.GameInfo;
+import com.game.liar.room.domain.RoomId;
+
+import java.util.Optional;
+
+/**
+ * Authoritative store of live {@link GameInfo} aggregates.
+ * Reads and writes are served from memory, persistence to DB happens behind the scenes.
+ */
+public interface GameStateStore {
+    Optional<GameInfo> findById(RoomId roomId);
+
+    boolean existsById(RoomId roomId);
+
+    GameInfo save(GameInfo gameInfo);
+
+    /**
+     * Mark the aggregate as changed so that it is written to DB on the next flush
+     */
+    void markDirty(RoomId roomId);
+
+    void deleteById(RoomId roomId);
+
+    void deleteAll();
+
+    void flush();
+}
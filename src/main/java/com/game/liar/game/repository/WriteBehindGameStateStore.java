@@ -0,0 +1,195 @@
+package com.game.liar.game.repository;
+
+import com.game.liar.game.domain.GameInfo;
+import com.game.liar.game.service.RoomCommandExecutor;
+import com.game.liar.room.domain.RoomId;
+import com.game.liar.utils.ExpiringKeySet;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps live games in memory and writes changed games to DB in batches.
+ * A game which is not in memory(e.g. after restart) is loaded from DB once and kept afterwards.
+ * A room without game is remembered for a while, so repeated lookups of it don't query DB either.
+ * Snapshots for DB are taken on the mailbox of the room, so they never see a half applied command.
+ */
+@Component
+@Slf4j
+public class WriteBehindGameStateStore implements GameStateStore {
+    private final GameInfoRepository gameInfoRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final RoomCommandExecutor roomCommandExecutor;
+
+    private final Map<RoomId, GameInfo> games = new ConcurrentHashMap<>();
+    private final Set<RoomId> dirty = ConcurrentHashMap.newKeySet();
+    private final Set<RoomId> removed = ConcurrentHashMap.newKeySet();
+    private final ExpiringKeySet<RoomId> missing = new ExpiringKeySet<>(MISSING_TTL_MS, MISSING_MAX_SIZE);
+
+    private static final long SNAPSHOT_TIMEOUT_MS = 1000;
+    private static final long MISSING_TTL_MS = 30_000;
+    private static final int MISSING_MAX_SIZE = 10_000;
+
+    @Value("${game.store.flush-batch-size:100}")
+    private int flushBatchSize = 100;
+
+    public WriteBehindGameStateStore(GameInfoRepository gameInfoRepository, PlatformTransactionManager transactionManager, RoomCommandExecutor roomCommandExecutor) {
+        this.gameInfoRepository = gameInfoRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.roomCommandExecutor = roomCommandExecutor;
+    }
+
+    @Override
+    public Optional<GameInfo> findById(RoomId roomId) {
+        GameInfo gameInfo = games.get(roomId);
+        if (gameInfo != null)
+            return Optional.of(gameInfo);
+        if (removed.contains(roomId) || missing.contains(roomId))
+            return Optional.empty();
+
+        //DB is read outside of the map lock, a game saved meanwhile wins over the loaded one
+        GameInfo loaded = load(roomId);
+        if (loaded == null) {
+            missing.add(roomId);
+            if (games.containsKey(roomId))
+                missing.remove(roomId);
+            return Optional.ofNullable(games.get(roomId));
+        }
+        GameInfo current = games.putIfAbsent(roomId, loaded);
+        return Optional.of(current != null ? current : loaded);
+    }
+
+    @Override
+    public boolean existsById(RoomId roomId) {
+        return findById(roomId).isPresent();
+    }
+
+    @Override
+    public GameInfo save(GameInfo gameInfo) {
+        RoomId roomId = gameInfo.getRoomId();
+        removed.remove(roomId);
+        missing.remove(roomId);
+        games.put(roomId, gameInfo);
+        dirty.add(roomId);
+        return gameInfo;
+    }
+
+    @Override
+    public void markDirty(RoomId roomId) {
+        if (games.containsKey(roomId))
+            dirty.add(roomId);
+    }
+
+    @Override
+    public void deleteById(RoomId roomId) {
+        games.remove(roomId);
+        dirty.remove(roomId);
+        removed.add(roomId);
+    }
+
+    @Override
+    public void deleteAll() {
+        games.clear();
+        dirty.clear();
+        removed.clear();
+        missing.clear();
+        gameInfoRepository.deleteAll();
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${game.store.flush-interval:200}")
+    public void flush() {
+        flushRemoved();
+        flushDirty();
+    }
+
+    @PreDestroy
+    public void close() {
+        log.info("[GameStateStore] flush before shutdown. dirty : {}, removed : {}", dirty.size(), removed.size());
+        flush();
+    }
+
+    private void flushDirty() {
+        if (dirty.isEmpty()) return;
+
+        Map<RoomId, CompletableFuture<GameInfo>> pending = new LinkedHashMap<>();
+        for (Iterator<RoomId> iterator = dirty.iterator(); iterator.hasNext(); ) {
+            RoomId roomId = iterator.next();
+            iterator.remove();
+            GameInfo gameInfo = games.get(roomId);
+            if (gameInfo == null) continue;
+            pending.put(roomId, roomCommandExecutor.submit(roomId.getId(), gameInfo::snapshot));
+        }
+
+        //busy room must not delay the others, all snapshots share one deadline
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(SNAPSHOT_TIMEOUT_MS);
+        List<GameInfo> snapshots = new ArrayList<>();
+        for (Map.Entry<RoomId, CompletableFuture<GameInfo>> entry : pending.entrySet()) {
+            try {
+                long remaining = Math.max(0, deadline - System.nanoTime());
+                snapshots.add(entry.getValue().get(remaining, TimeUnit.NANOSECONDS));
+            } catch (Exception e) {
+                //room의 mailbox가 밀려있으면 다음 flush 때 저장한다
+                log.warn("[GameStateStore] snapshot failed [room:{}]. retry on next flush", entry.getKey(), e);
+                markDirty(entry.getKey());
+                continue;
+            }
+            if (snapshots.size() >= flushBatchSize) {
+                saveBatch(snapshots);
+                snapshots = new ArrayList<>();
+            }
+        }
+        if (!snapshots.isEmpty())
+            saveBatch(snapshots);
+    }
+
+    private void saveBatch(List<GameInfo> snapshots) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> gameInfoRepository.saveAll(snapshots));
+            log.debug("[GameStateStore] {} games flushed", snapshots.size());
+        } catch (RuntimeException e) {
+            log.error("[GameStateStore] flush failed. retry on next flush", e);
+            snapshots.stream().map(GameInfo::getRoomId).forEach(this::markDirty);
+        }
+    }
+
+    private void flushRemoved() {
+        if (removed.isEmpty()) return;
+
+        List<RoomId> roomIds = new ArrayList<>(removed);
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    gameInfoRepository.deleteAll(gameInfoRepository.findAllById(roomIds)));
+            roomIds.forEach(removed::remove);
+            log.debug("[GameStateStore] {} games deleted", roomIds.size());
+        } catch (RuntimeException e) {
+            log.error("[GameStateStore] delete failed. retry on next flush", e);
+        }
+    }
+
+    private GameInfo load(RoomId roomId) {
+        return transactionTemplate.execute(status -> gameInfoRepository.findById(roomId)
+                .map(gameInfo -> {
+                    Hibernate.initialize(gameInfo.getTurnOrder());
+                    Hibernate.initialize(gameInfo.getVoteResult());
+                    Hibernate.initialize(gameInfo.getScoreboard());
+                    if (gameInfo.getGameSettings() != null) {
+                        Hibernate.initialize(gameInfo.getGameSettings().getCategory());
+                        Hibernate.initialize(gameInfo.getGameSettings().getSelectedByRoomOwnerCategory());
+                    }
+                    log.info("[GameStateStore] game loaded from DB [room:{}]", roomId);
+                    return gameInfo;
+                })
+                .orElse(null));
+    }
+}
@@ -9,22 +9,21 @@ import com.game.liar.game.dto.LiarDesignateDto;
 import com.game.liar.game.dto.MessageContainer;
 import com.game.liar.game.dto.request.GameSettingsRequest;
 import com.game.liar.game.dto.request.KeywordRequest;
+import com.game.liar.game.dto.request.StateSyncRequest;
 import com.game.liar.game.dto.response.*;
-import com.game.liar.game.repository.GameInfoRepository;
+import com.game.liar.game.repository.GameStateStore;
 import com.game.liar.messagequeue.TimeoutEvent;
 import com.game.liar.messagequeue.TimeoutManager;
 import com.game.liar.room.domain.RoomId;
 import com.game.liar.room.dto.RoomIdRequest;
 import com.game.liar.room.dto.UserDataDto;
+import com.game.liar.room.service.LiveRoomRegistry;
 import com.game.liar.room.service.RoomService;
 import com.game.liar.user.domain.UserId;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.event.EventListener;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
-import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.*;
 import java.util.stream.Collectors;
@@ -37,18 +36,22 @@ import static com.game.liar.game.domain.Global.*;
 public class GameService {
     private final RoomService roomService;
     private final GameSubjectService gameSubjectService;
-    private final GameInfoRepository gameInfoRepository;
+    private final GameStateStore gameStateStore;
     private final MessageService messageService;
     private final TimeoutManager timeoutManager;
+    private final RoomCommandExecutor roomCommandExecutor;
+    private final GameStateSync gameStateSync;
+    private final LiveRoomRegistry liveRoomRegistry;
 
-    @Transactional
+    /**
+     * Unknown rooms are rejected by {@link LiveRoomRegistry} before the game store is asked
+     */
     public boolean checkRoomExist(RoomId roomId) {
-        return gameInfoRepository.findById(roomId).isPresent();
+        return liveRoomRegistry.contains(roomId) && gameStateStore.existsById(roomId);
     }
 
-    @Transactional
     public GameStateResponse getGameState(String roomId) {
-        GameInfo gameInfo = getGame(RoomId.of(roomId));
+        GameInfo gameInfo = findGame(RoomId.of(roomId));
 
         if (gameInfo == null) {
             throw new NotExistException(String.format("There is no room. Room ID :%s", roomId));
@@ -57,22 +60,23 @@ public class GameService {
         return new GameStateResponse(gameInfo.getState());
     }
 
-    @Transactional
     public boolean isGameStarted(RoomId roomId) {
-        return !getGame(roomId).getState().equals(GameState.BEFORE_START);
+        return !findGame(roomId).getState().equals(GameState.BEFORE_START);
     }
 
-    @Transactional
+    /**
+     * Game for the command which changes the state. The game is persisted on next flush of the store
+     */
     public GameInfo getGame(RoomId roomId) {
-        return gameInfoRepository.findById(roomId).orElseThrow(() -> new NotExistException(String.format("There is no game in the room [%s]", roomId)));
+        GameInfo gameInfo = findGame(roomId);
+        gameStateStore.markDirty(roomId);
+        return gameInfo;
     }
 
-    @Transactional
-    public GameInfo getGameForUpdate(RoomId roomId) {
-        return gameInfoRepository.findByRoomId(roomId).orElseThrow(() -> new NotExistException(String.format("There is no game in the room [%s]", roomId)));
+    private GameInfo findGame(RoomId roomId) {
+        return gameStateStore.findById(roomId).orElseThrow(() -> new NotExistException(String.format("There is no game in the room [%s]", roomId)));
     }
 
-    @Transactional
     public GameInfoResponse startGame(MessageContainer request, String roomId) throws NotExistException, NotAllowedActionException, StateNotAllowedExpcetion {
         String senderID = request.getSenderId();
         GameInfo gameInfo = getGame(RoomId.of(roomId));
@@ -116,9 +120,8 @@ public class GameService {
                 ));
     }
 
-    @Transactional
     public GameInfo addGame(String roomId, String roomOwnerId) {
-        if (gameInfoRepository.findById(RoomId.of(roomId)).isPresent()) {
+        if (gameStateStore.existsById(RoomId.of(roomId))) {
             log.error("The game manager already exists");
             throw new AlreadyExistException("The game manager already exists");
         }
@@ -130,24 +133,24 @@ public class GameService {
     }
 
     private void save(GameInfo gameInfo) {
-        gameInfoRepository.save(gameInfo);
+        gameStateStore.save(gameInfo);
     }
 
-    @Transactional
     public void removeGame(RoomId roomId) {
-        if (!gameInfoRepository.findById(roomId).isPresent()) {
+        if (!gameStateStore.existsById(roomId)) {
             log.error("The game manager does not exists");
             return;
         }
-        gameInfoRepository.deleteById(roomId);
+        gameStateStore.deleteById(roomId);
+        gameStateSync.remove(roomId.getId());
+        liveRoomRegistry.unregister(roomId);
         log.debug("game manager destroyed");
     }
 
     public void clearGame() {
-        gameInfoRepository.deleteAll();
+        gameStateStore.deleteAll();
     }
 
-    @Transactional
     public RoundResponse startRound(MessageContainer request, String roomId) {
         String senderID = request.getSenderId();
         GameInfo gameInfo = getGame(RoomId.of(roomId));
@@ -165,7 +168,6 @@ public class GameService {
         return new RoundResponse(gameInfo.getState(), gameInfo.getCurrentRound());
     }
 
-    @Transactional
     public GameStateResponse selectLiarAndSendIsLiar(MessageContainer request, String roomId) {
         GameInfo gameInfo = getGame(RoomId.of(roomId));
         selectLiar(request, roomId, gameInfo);
@@ -186,12 +188,14 @@ public class GameService {
     }
 
     private void sendIsLiar(MessageContainer request, String roomId, GameInfo gameInfo) {
+        MessageContainer.Message liar = new MessageContainer.Message(NOTIFY_LIAR_SELECTED, new LiarResponse(gameInfo.getState(), true));
+        MessageContainer.Message notLiar = new MessageContainer.Message(NOTIFY_LIAR_SELECTED, new LiarResponse(gameInfo.getState(), false));
+        Map<String, MessageContainer.Message> messageByUser = new LinkedHashMap<>();
         for (String userId : getUserIdListInRoom(roomId)) {
-            boolean isLiar = userId.equals(gameInfo.getLiarId());
-            LiarResponse body = new LiarResponse(gameInfo.getState(), isLiar);
-            log.debug("[sendIsLiar]selectLiar response : {} to user : {}", body, userId);
-            messageService.sendPrivateMessage(request.getUuid(), new MessageContainer.Message(NOTIFY_LIAR_SELECTED, body), userId, roomId);
+            messageByUser.put(userId, userId.equals(gameInfo.getLiarId()) ? liar : notLiar);
         }
+        log.debug("[sendIsLiar]selectLiar response to users : {}", messageByUser.keySet());
+        messageService.sendPrivateMessages(request.getUuid(), messageByUser, roomId);
     }
 
     private String __selectLiar(List<String> usersInRoom, String roomId) {
@@ -202,13 +206,11 @@ public class GameService {
         return usersInRoom.get(index);
     }
 
-    @Transactional
     public LiarDesignateDto getLiarResponse(RoomId roomId) {
-        GameInfo gameInfo = getGame(roomId);
+        GameInfo gameInfo = findGame(roomId);
         return new LiarDesignateDto(gameInfo.getLiarId());
     }
 
-    @Transactional
     public TurnOrderResponse openAndSendKeyword(MessageContainer request, String roomId) {
         openKeyword(request, roomId);
         sendKeyword(request, roomId);
@@ -232,16 +234,22 @@ public class GameService {
 
     private void sendKeyword(MessageContainer request, String roomId) {
         GameInfo gameInfo = getGame(RoomId.of(roomId));
+        MessageContainer.Message liar = new MessageContainer.Message(NOTIFY_KEYWORD_OPENED, openedGameInfo(gameInfo, ""));
+        MessageContainer.Message notLiar = new MessageContainer.Message(NOTIFY_KEYWORD_OPENED, openedGameInfo(gameInfo, gameInfo.getCurrentRoundKeyword()));
+        log.info("[API]openKeyword response : {}", notLiar.getBody());
+        Map<String, MessageContainer.Message> messageByUser = new LinkedHashMap<>();
         for (String userId : getUserIdListInRoom(roomId)) {
-            boolean isLiar = userId.equals(gameInfo.getLiarId());
-            OpenedGameInfo body = OpenedGameInfo.builder()
-                    .category(gameInfo.getCurrentRoundCategory())
-                    .keyword(isLiar ? "" : gameInfo.getCurrentRoundKeyword())
-                    .turnOrder(gameInfo.getTurnOrder())
-                    .build();
-            log.info("[API]openKeyword response : {}", body);
-            messageService.sendPrivateMessage(request.getUuid(), new MessageContainer.Message(NOTIFY_KEYWORD_OPENED, body), userId, roomId);
+            messageByUser.put(userId, userId.equals(gameInfo.getLiarId()) ? liar : notLiar);
         }
+        messageService.sendPrivateMessages(request.getUuid(), messageByUser, roomId);
+    }
+
+    private OpenedGameInfo openedGameInfo(GameInfo gameInfo, String keyword) {
+        return OpenedGameInfo.builder()
+                .category(gameInfo.getCurrentRoundCategory())
+                .keyword(keyword)
+                .turnOrder(gameStateSync.isDelta() ? null : gameInfo.getTurnOrder())
+                .build();
     }
 
     private void selectCategory(GameInfo gameInfo) {
@@ -266,7 +274,6 @@ public class GameService {
         log.info("[createTurnOrder] current round turn order : {}", gameInfo.getTurnOrder());
     }
 
-    @Transactional
     public String updateTurn(String requestUUID, String senderId, String roomId) {
         GameInfo gameInfo = getGame(RoomId.of(roomId));
         log.info("[updateTurn] game info : {}", gameInfo);
@@ -310,7 +317,6 @@ public class GameService {
         }
     }
 
-    @Transactional
     public GameInfo notifyFindingLiarEnd(String roomId) {
         GameInfo gameInfo = getGame(RoomId.of(roomId));
         if (gameInfo.getState() != GameState.IN_PROGRESS)
@@ -324,14 +330,12 @@ public class GameService {
         return roomService.getUsersId(new RoomIdRequest(roomId));
     }
 
-    @Transactional
     public GameInfo nextGameState(String roomId) {
         GameInfo gameInfo = getGame(RoomId.of(roomId));
         gameInfo.nextState();
         return gameInfo;
     }
 
-    @Transactional
     public void addMember(String roomId, UserDataDto gameUser) {
         GameInfo gameInfo = getGame(RoomId.of(roomId));
         if (gameInfo != null) {
@@ -342,7 +346,6 @@ public class GameService {
         }
     }
 
-    @Transactional
     public void deleteMember(String roomId, UserDataDto gameUser) {
         GameInfo gameInfo = getGame(RoomId.of(roomId));
         if (gameInfo != null) {
@@ -353,9 +356,8 @@ public class GameService {
         }
     }
 
-    @Transactional
     public GameInfo voteLiar(MessageContainer request, String roomId) {
-        GameInfo gameInfo = getGameForUpdate(RoomId.of(roomId));
+        GameInfo gameInfo = getGame(RoomId.of(roomId));
         String senderId = request.getSenderId();
         if (gameInfo.getState() != GameState.VOTE_LIAR) {
             throw new StateNotAllowedExpcetion(String.format("Current State is not VOTE_LIAR. state:%s", gameInfo.getState()));
@@ -373,7 +375,6 @@ public class GameService {
         return gameInfo;
     }
 
-    @Transactional
     public void checkVoteResultAndSendMessage(MessageContainer request, String roomId) {
         if (isVoteFinished(roomId)) {
             cancelVoteTimer(roomId);
@@ -400,17 +401,15 @@ public class GameService {
         }
     }
 
-    @Transactional(readOnly = true)
     public VoteResult getMostVoted(String roomId) {
-        GameInfo gameInfo = getGame(RoomId.of(roomId));
+        GameInfo gameInfo = findGame(RoomId.of(roomId));
         List<Map.Entry<String, Long>> mostVoted = gameInfo.getMostVotedUserIdAndCount();
         return VoteResult.builder()
-                .voteResult(gameInfo.getVoteResult())
+                .voteResult(gameStateSync.isDelta() ? null : gameInfo.getVoteResult())
                 .mostVoted(mostVoted)
                 .build();
     }
 
-    @Transactional
     public OpenLiarResponse openLiar(MessageContainer request, String roomId) {
         OpenLiarResponse body = __openLiar(request, roomId);
         log.info("[API]openLiar response : {}", body);
@@ -442,7 +441,6 @@ public class GameService {
         return new OpenLiarResponse(gameInfo.getLiarId(), isAnswer, gameInfo.getState());
     }
 
-    @Transactional
     public void checkKeywordCorrectAndSendResult(MessageContainer request, String roomId) {
         LiarAnswerResponse body = checkKeywordCorrect(request, roomId);
         log.info("[API]checkKeywordCorrect response : {}", body);
@@ -465,7 +463,6 @@ public class GameService {
         return new LiarAnswerResponse(gameInfo.getState(), gameInfo.isLiarAnswer(), gameInfo.getCurrentRoundKeyword());
     }
 
-    @Transactional
     public ScoreboardResponse notifyScores(MessageContainer request, String roomId) {
         GameInfo gameInfo = getGame(RoomId.of(roomId));
         String senderId = request.getSenderId();
@@ -476,10 +473,9 @@ public class GameService {
             throw new NotAllowedActionException("Only Room owner can query user scores");
         }
         gameInfo.updateScoreBoard();
-        return new ScoreboardResponse(gameInfo.getScoreboard());
+        return new ScoreboardResponse(gameStateSync.isDelta() ? null : gameInfo.getScoreboard());
     }
 
-    @Transactional
     public RoundResponse notifyRoundEnd(String roomId) {
         GameInfo gameInfo = getGame(RoomId.of(roomId));
         if (gameInfo.getState() != GameState.PUBLISH_SCORE)
@@ -492,13 +488,11 @@ public class GameService {
         return new RoundResponse(gameInfo.getState(), gameInfo.getCurrentRound());
     }
 
-    @Transactional
     public void resetLiarInfo(String roomId) {
         GameInfo gameInfo = getGame(RoomId.of(roomId));
         gameInfo.resetLiarInfo();
     }
 
-    @Transactional
     public RankingsResponse publishRankings(MessageContainer request, String roomId) {
         GameInfo gameInfo = getGame(RoomId.of(roomId));
         String senderId = request.getSenderId();
@@ -514,22 +508,21 @@ public class GameService {
                 .collect(Collectors.toList()));
     }
 
-    @Transactional
     public List<String> getNotVoteUserList(String roomId) {
         GameInfo gameInfo = getGame(RoomId.of(roomId));
         List<String> notVoteUserList = new ArrayList<>();
-        log.info("gameInfo.getUserList : {}", getUserIdListInRoom(roomId));
+        List<String> userIdList = getUserIdListInRoom(roomId);
+        log.info("gameInfo.getUserList : {}", userIdList);
         log.info("gameInfo.getVoteResult : {}", gameInfo.getVoteResult());
-        for (String userId : getUserIdListInRoom(roomId)) {
+        for (String userId : userIdList) {
             if (gameInfo.getVoteResult().get(userId) == null)
                 notVoteUserList.add(userId);
         }
         return notVoteUserList;
     }
 
-    @Transactional(readOnly = true)
     public GameCategoryResponse getGameCategory(String roomId) {
-        GameInfo gameInfo = getGame(RoomId.of(roomId));
+        GameInfo gameInfo = findGame(RoomId.of(roomId));
 
         if (gameInfo == null) {
             throw new NotExistException(String.format("There is no room. Room ID :%s", roomId));
@@ -537,49 +530,46 @@ public class GameService {
         return new GameCategoryResponse(gameSubjectService.getAllCategory());
     }
 
-    @Transactional
+    /**
+     * Subjects are served from the in-memory catalog of {@link GameSubjectService}
+     */
     public void initializeGameInfo(GameInfo gameInfo) {
-        gameSubjectService.loadInitialCategory();
         gameInfo.initialize(gameSubjectService.getAllSubject(), gameSubjectService.getAllCategory());
     }
 
-    @Transactional
     public void cancelTurnTimer(String roomId) {
         GameInfo gameInfo = getGame(RoomId.of(roomId));
         gameInfo.cancelTurnTimer();
         timeoutManager.cancel(roomId);
     }
 
-    @Transactional
     public void cancelVoteTimer(String roomId) {
         GameInfo gameInfo = getGame(RoomId.of(roomId));
         gameInfo.cancelVoteTimer();
         timeoutManager.cancel(roomId);
     }
 
-    @Transactional
     public void cancelAnswerTimer(String roomId) {
         GameInfo gameInfo = getGame(RoomId.of(roomId));
         gameInfo.cancelAnswerTimer();
         timeoutManager.cancel(roomId);
     }
 
-    private void startTurnTimer(String roomId) {
+    private void startTurnTimer(String roomId, String timerId) {
         GameInfo gameInfo = getGame(RoomId.of(roomId));
-        gameInfo.startTurnTimer();
+        gameInfo.startTurnTimer(timerId);
     }
 
-    private void startVoteTimer(String roomId) {
+    private void startVoteTimer(String roomId, String timerId) {
         GameInfo gameInfo = getGame(RoomId.of(roomId));
-        gameInfo.startVoteTimer();
+        gameInfo.startVoteTimer(timerId);
     }
 
-    private void startAnswerTimer(String roomId) {
+    private void startAnswerTimer(String roomId, String timerId) {
         GameInfo gameInfo = getGame(RoomId.of(roomId));
-        gameInfo.startAnswerTimer();
+        gameInfo.startAnswerTimer(timerId);
     }
 
-    @Transactional
     public void resetGame(String roomId) {
         GameInfo gameInfo = getGame(RoomId.of(roomId));
         gameInfo.resetTurn();
@@ -589,22 +579,38 @@ public class GameService {
     }
 
     private boolean isUserInTheRoom(String userId, String roomId) {
-        return getUserIdListInRoom(roomId).contains(userId);
+        return roomService.isMember(roomId, userId);
+    }
+
+    /**
+     * Publish what the last command changed as a patch of the state sync
+     */
+    public void publishStateChanges(String roomId) {
+        if (!gameStateSync.isDelta())
+            return;
+        Optional<GameInfo> gameInfo = gameStateStore.findById(RoomId.of(roomId));
+        if (!gameInfo.isPresent())
+            return;
+        StatePatchResponse patch = gameStateSync.diff(roomId, gameInfo.get());
+        if (patch != null)
+            messageService.sendPublicMessage(UUID.randomUUID().toString(), new MessageContainer.Message(NOTIFY_STATE_PATCH, patch), roomId);
+    }
+
+    public StateSyncResponse syncState(MessageContainer request, String roomId) {
+        StateSyncRequest body = (StateSyncRequest) request.getMessage().getBody();
+        return gameStateSync.sync(roomId, findGame(RoomId.of(roomId)), body == null ? null : body.getLastSeq());
     }
 
-    @Transactional(readOnly = true)
     public boolean isVoteFinished(String roomId) {
-        GameInfo gameInfo = getGame(RoomId.of(roomId));
+        GameInfo gameInfo = findGame(RoomId.of(roomId));
         return gameInfo.voteFinished();
     }
 
-    @Transactional(readOnly = true)
     public String getCurrentTurnUser(String roomId) {
-        GameInfo gameInfo = getGame(RoomId.of(roomId));
+        GameInfo gameInfo = findGame(RoomId.of(roomId));
         return gameInfo.getCurrentTurnId();
     }
 
-    @Transactional
     public GameStateResponse resetVoteResult(String roomId) {
         GameInfo gameInfo = getGame(RoomId.of(roomId));
         gameInfo.resetVoteResult();
@@ -620,41 +626,48 @@ public class GameService {
 
     protected void registerTurnTimeoutNotification(String requestUUID, String roomId) {
         log.info("[API]register notifyTurnTimeout from [room:{}]", roomId);
-        timeoutManager.timerStart(requestUUID, roomId, TimeoutManager.TimeoutData.TimerType.TURN);
-        startTurnTimer(roomId);
+        String timerId = timeoutManager.timerStart(requestUUID, roomId, TimeoutManager.TimeoutData.TimerType.TURN);
+        startTurnTimer(roomId, timerId);
     }
 
     private void registerVoteTimeoutNotification(String requestUUID, String roomId) {
         log.info("[API]register notifyVoteTimeout from [room:{}]", roomId);
-        timeoutManager.timerStart(requestUUID, roomId, TimeoutManager.TimeoutData.TimerType.VOTE);
-        startVoteTimer(roomId);
+        String timerId = timeoutManager.timerStart(requestUUID, roomId, TimeoutManager.TimeoutData.TimerType.VOTE);
+        startVoteTimer(roomId, timerId);
     }
 
     private void registerLiarAnswerTimeoutNotification(String requestUUID, String roomId) {
         log.info("[API]register notifyAnswerTimeout from [room:{}]", roomId);
-        timeoutManager.timerStart(requestUUID, roomId, TimeoutManager.TimeoutData.TimerType.ANSWER);
-        startAnswerTimer(roomId);
+        String timerId = timeoutManager.timerStart(requestUUID, roomId, TimeoutManager.TimeoutData.TimerType.ANSWER);
+        startAnswerTimer(roomId, timerId);
     }
 
     @EventListener
-    @Async
-    @Transactional
     public void onTimeoutEvent(TimeoutEvent event) {
         log.info("[TimeoutEvent] TimeoutEvent Added. event :{}", event);
-        try {
-            onTimeout(event.getData());
-        } catch (JsonProcessingException e) {
-            throw new RuntimeException(e);
-        }
+        //timeout도 같은 room의 다른 요청과 순서대로 처리되도록 room의 mailbox로 보낸다
+        roomCommandExecutor.execute(event.getData().getRoomId(), () -> messageService.batch(() -> {
+            try {
+                onTimeout(event.getData());
+            } catch (JsonProcessingException | RuntimeException e) {
+                log.error("[TimeoutEvent] timeout failed. event : {}", event, e);
+                messageService.sendPublicErrorMessage(event.getData().getUuid(), new ErrorResult("Internal Error", "Internal server error"), event.getData().getRoomId());
+            } finally {
+                publishStateChanges(event.getData().getRoomId());
+            }
+        }));
     }
 
-    @Transactional
     public void onTimeout(TimeoutManager.TimeoutData message) throws JsonProcessingException {
         String uuid = message.getUuid();
         String roomId = message.getRoomId();
         TimeoutManager.TimeoutData.TimerType timerType = message.getTimerType();
 
         try {
+            if (!findGame(RoomId.of(roomId)).isCurrentTimer(message.getTimerId())) {
+                log.info("[onTimeout] stale timer is ignored : {}", message);
+                return;
+            }
             switch (timerType) {
                 case VOTE: {
                     voteTimeout(uuid, roomId);
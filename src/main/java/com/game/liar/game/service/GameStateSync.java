@@ -0,0 +1,123 @@
+package com.game.liar.game.service;
+
+import com.game.liar.game.domain.GameInfo;
+import com.game.liar.game.dto.response.StatePatchResponse;
+import com.game.liar.game.dto.response.StatePatchResponse.Patch;
+import com.game.liar.game.dto.response.StateSyncResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Versioned game state of each room for the incremental state sync.
+ * After each command the game is compared with the last published view, the difference is a patch with the next sequence number.
+ * Recent patches are kept, so a client which missed some gets only those. Older gaps get the snapshot.
+ */
+@Component
+@Slf4j
+public class GameStateSync {
+    private final boolean delta;
+    private final int logSize;
+    private final Map<String, RoomLog> rooms = new ConcurrentHashMap<>();
+
+    public GameStateSync(@Value("${game.state-sync.delta:false}") boolean delta, @Value("${game.state-sync.log-size:64}") int logSize) {
+        if (logSize < 1) throw new IllegalArgumentException("game.state-sync.log-size should be at least 1");
+        this.delta = delta;
+        this.logSize = logSize;
+    }
+
+    /**
+     * With delta, clients follow the game by patches and the full maps are left out of the game messages
+     */
+    public boolean isDelta() {
+        return delta;
+    }
+
+    /**
+     * @return null if nothing changed since the last patch
+     */
+    public StatePatchResponse diff(String roomId, GameInfo gameInfo) {
+        return rooms.computeIfAbsent(roomId, id -> new RoomLog()).append(snapshotOf(gameInfo));
+    }
+
+    public StateSyncResponse sync(String roomId, GameInfo gameInfo, Long lastSeq) {
+        if (!delta)
+            return StateSyncResponse.full(0, snapshotOf(gameInfo));
+        return rooms.computeIfAbsent(roomId, id -> new RoomLog()).since(lastSeq);
+    }
+
+    public void remove(String roomId) {
+        rooms.remove(roomId);
+    }
+
+    static StateSyncResponse.Snapshot snapshotOf(GameInfo gameInfo) {
+        List<String> turnOrder = new ArrayList<>(gameInfo.getTurnOrder());
+        Integer turn = gameInfo.getCurrentTurn();
+        String turnUser = turn != null && turn >= 0 && !turnOrder.isEmpty() ? turnOrder.get(turn % turnOrder.size()) : null;
+        return new StateSyncResponse.Snapshot(gameInfo.getState(), gameInfo.getCurrentRound(), turnUser, turnOrder,
+                new HashMap<>(gameInfo.getVoteResult()), new HashMap<>(gameInfo.getScoreboard()));
+    }
+
+    static List<Patch> diff(StateSyncResponse.Snapshot before, StateSyncResponse.Snapshot after) {
+        List<Patch> patches = new ArrayList<>();
+        if (!Objects.equals(before.getState(), after.getState()))
+            patches.add(new Patch(Patch.STATE, null, after.getState()));
+        if (!Objects.equals(before.getRound(), after.getRound()))
+            patches.add(new Patch(Patch.ROUND, null, after.getRound()));
+        if (!Objects.equals(before.getTurnOrder(), after.getTurnOrder()))
+            patches.add(new Patch(Patch.TURN_ORDER, null, after.getTurnOrder()));
+        if (!Objects.equals(before.getTurn(), after.getTurn()))
+            patches.add(new Patch(Patch.TURN, after.getTurn(), null));
+        diffMap(before.getVoteResult(), after.getVoteResult(), Patch.VOTE, Patch.VOTES_CLEARED, patches);
+        diffMap(before.getScoreboard(), after.getScoreboard(), Patch.SCORE, Patch.SCORES_CLEARED, patches);
+        return patches;
+    }
+
+    /**
+     * Changed entries are sent with their new value. When an entry is removed the map is cleared and sent again
+     */
+    private static void diffMap(Map<String, ?> before, Map<String, ?> after, String op, String clearedOp, List<Patch> patches) {
+        boolean cleared = !after.keySet().containsAll(before.keySet());
+        if (cleared)
+            patches.add(new Patch(clearedOp, null, null));
+        after.forEach((user, value) -> {
+            if (cleared || !Objects.equals(before.get(user), value))
+                patches.add(new Patch(op, user, value));
+        });
+    }
+
+    private class RoomLog {
+        private long seq;
+        private StateSyncResponse.Snapshot view = new StateSyncResponse.Snapshot(null, null, null,
+                Collections.emptyList(), Collections.emptyMap(), Collections.emptyMap());
+        private final Deque<StatePatchResponse> recent = new ArrayDeque<>();
+
+        synchronized StatePatchResponse append(StateSyncResponse.Snapshot current) {
+            List<Patch> patches = diff(view, current);
+            if (patches.isEmpty())
+                return null;
+            StatePatchResponse patch = new StatePatchResponse(++seq, patches);
+            recent.addLast(patch);
+            if (recent.size() > logSize)
+                recent.removeFirst();
+            view = current;
+            return patch;
+        }
+
+        /**
+         * The snapshot is the published view, so that it matches seq even if the game changed after the last patch
+         */
+        synchronized StateSyncResponse since(Long lastSeq) {
+            if (lastSeq != null && lastSeq <= seq && (lastSeq == seq || !recent.isEmpty() && recent.peekFirst().getSeq() <= lastSeq + 1)) {
+                return StateSyncResponse.delta(seq, recent.stream()
+                        .filter(patch -> patch.getSeq() > lastSeq)
+                        .collect(Collectors.toList()));
+            }
+            return StateSyncResponse.full(seq, view);
+        }
+    }
+}
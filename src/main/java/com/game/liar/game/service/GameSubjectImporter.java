@@ -0,0 +1,130 @@
+package com.game.liar.game.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.game.liar.exception.SubjectImportException;
+import com.game.liar.game.dto.SubjectImportResult;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Imports game subjects from a JSON array or NDJSON of {"category", "keyword"} objects.
+ * The input is parsed as a stream, subjects which already exist are skipped by an in-memory key set
+ * and new ones are inserted by JDBC batches, one transaction per chunk.
+ * Chunks committed before a malformed input stay imported, {@link SubjectImportException} carries the progress.
+ */
+@Component
+@Slf4j
+public class GameSubjectImporter {
+    private static final String INSERT_SQL = "INSERT INTO game_subject (category, keyword) VALUES (?, ?)";
+    private static final String SELECT_KEYS_SQL = "SELECT category, keyword FROM game_subject";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final JsonFactory jsonFactory = new JsonFactory();
+    private final int chunkSize;
+
+    public GameSubjectImporter(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                               @Value("${game.subject.import-chunk-size:1000}") int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    public SubjectImportResult importSubjects(InputStream input) {
+        long startedAt = System.currentTimeMillis();
+        SubjectImportResult result = new SubjectImportResult();
+        Set<String> keys = loadKeys();
+        List<Object[]> chunk = new ArrayList<>(chunkSize);
+
+        try (JsonParser parser = jsonFactory.createParser(input)) {
+            JsonToken token = parser.nextToken();
+            boolean array = token == JsonToken.START_ARRAY;
+            if (array)
+                token = parser.nextToken();
+            while (token != null && token != JsonToken.END_ARRAY) {
+                if (token != JsonToken.START_OBJECT)
+                    throw fail(result, "Subject should be an object with category and keyword");
+                result.countRead();
+                String[] subject = readSubject(parser);
+                if (subject == null) {
+                    result.countInvalid();
+                } else if (!keys.add(key(subject[0], subject[1]))) {
+                    result.countDuplicated();
+                } else {
+                    chunk.add(subject);
+                    if (chunk.size() >= chunkSize)
+                        write(chunk, result, startedAt);
+                }
+                token = parser.nextToken();
+            }
+        } catch (IOException e) {
+            throw fail(result, "Subjects should be a JSON array or NDJSON of {category, keyword}");
+        }
+        if (!chunk.isEmpty())
+            write(chunk, result, startedAt);
+        log.info("[importSubjects] read :{}, inserted :{}, duplicated :{}, invalid :{} in {} ms",
+                result.getRead(), result.getInserted(), result.getDuplicated(), result.getInvalid(), System.currentTimeMillis() - startedAt);
+        return result;
+    }
+
+    private SubjectImportException fail(SubjectImportResult result, String message) {
+        result.fail(message);
+        log.error("[importSubjects] stopped by malformed input, progress :{}", result);
+        return new SubjectImportException(message, result);
+    }
+
+    private Set<String> loadKeys() {
+        Set<String> keys = new HashSet<>();
+        jdbcTemplate.query(SELECT_KEYS_SQL, rs -> {
+            keys.add(key(rs.getString(1), rs.getString(2)));
+        });
+        return keys;
+    }
+
+    /**
+     * @return category and keyword, null if one of them is missing or blank
+     */
+    private String[] readSubject(JsonParser parser) throws IOException {
+        String category = null;
+        String keyword = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            if ("category".equals(field) && value == JsonToken.VALUE_STRING)
+                category = parser.getText().trim();
+            else if ("keyword".equals(field) && value == JsonToken.VALUE_STRING)
+                keyword = parser.getText().trim();
+            else
+                parser.skipChildren();
+        }
+        if (category == null || category.isEmpty() || keyword == null || keyword.isEmpty())
+            return null;
+        return new String[]{category, keyword};
+    }
+
+    private void write(List<Object[]> chunk, SubjectImportResult result, long startedAt) {
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_SQL, chunk));
+        SubjectImportResult.Chunk progress = new SubjectImportResult.Chunk(result.getChunks().size() + 1, chunk.size(),
+                result.getRead(), System.currentTimeMillis() - startedAt);
+        result.addChunk(progress);
+        log.info("[importSubjects] chunk {} committed, inserted :{}, read so far :{}", progress.getIndex(), progress.getInserted(), progress.getRead());
+        chunk.clear();
+    }
+
+    private static String key(String category, String keyword) {
+        return category + '\u0000' + keyword;
+    }
+}
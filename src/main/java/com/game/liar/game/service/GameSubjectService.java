@@ -4,28 +4,45 @@ import com.game.liar.exception.AlreadyExistException;
 import com.game.liar.exception.NotExistException;
 import com.game.liar.game.config.GameCategoryProperties;
 import com.game.liar.game.domain.GameSubject;
+import com.game.liar.game.domain.SubjectCatalog;
 import com.game.liar.game.dto.GameSubjectDto;
 import com.game.liar.game.repository.GameSubjectRepository;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.concurrent.atomic.AtomicReference;
 
+/**
+ * Game subjects are served from an in-memory {@link SubjectCatalog}, so starting a game needs no query.
+ * The catalog is built once(seeding predefined subjects into an empty table), replaced on every change through this service
+ * and reloaded periodically to pick up subjects added on other nodes.
+ */
 @Service
 @Slf4j
 public class GameSubjectService {
     private final GameCategoryProperties predefined;
     private final GameSubjectRepository gameSubjectRepository;
+    private final AtomicReference<SubjectCatalog> catalog = new AtomicReference<>();
 
     public GameSubjectService(GameCategoryProperties predefined, GameSubjectRepository gameSubjectRepository) {
         this.predefined = predefined;
         this.gameSubjectRepository = gameSubjectRepository;
     }
 
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        try {
+            log.info("[GameSubjectService] subject catalog loaded, version :{}", getCatalog().getVersion());
+        } catch (RuntimeException e) {
+            log.warn("[GameSubjectService] failed to load subject catalog, it is loaded on first use", e);
+        }
+    }
+
     public Map<String, List<String>> loadInitialCategory() {
         if (!hasNoCategory()) return null;
 
@@ -36,7 +53,37 @@ public class GameSubjectService {
                 gameSubjectRepository.save(newSubject);
             }
         }
-        return getAllSubject();
+        return subjectsOf(reload());
+    }
+
+    public SubjectCatalog getCatalog() {
+        SubjectCatalog current = catalog.get();
+        if (current != null)
+            return current;
+        synchronized (this) {
+            if (catalog.get() == null && loadInitialCategory() == null)
+                reload();
+            return catalog.get();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${game.subject.refresh-interval:60000}", initialDelayString = "${game.subject.refresh-interval:60000}")
+    public void refresh() {
+        reload();
+    }
+
+    /**
+     * Reload the catalog from DB. The version changes only when the subjects did
+     */
+    private synchronized SubjectCatalog reload() {
+        SubjectCatalog current = catalog.get();
+        long version = current == null ? 1 : current.getVersion() + 1;
+        SubjectCatalog loaded = SubjectCatalog.of(version, gameSubjectRepository.findAll());
+        if (current != null && current.getSubjects().equals(loaded.getSubjects()))
+            return current;
+        catalog.set(loaded);
+        log.debug("[GameSubjectService] subject catalog version :{}", version);
+        return loaded;
     }
 
     public void addSubject(GameSubjectDto gameSubjectDto) {
@@ -46,6 +93,9 @@ public class GameSubjectService {
             throw new AlreadyExistException("requested category and keyword already exist");
         }
         gameSubjectRepository.save(gameSubjectDto.toEntity());
+        synchronized (this) {
+            catalog.updateAndGet(current -> current == null ? null : current.with(category, keyword));
+        }
     }
 
     public void addSubjects(List<GameSubjectDto> subjects) {
@@ -55,37 +105,17 @@ public class GameSubjectService {
     }
 
     public Map<String, List<String>> getAllSubject() throws NotExistException {
-        Map<String, List<String>> ret = new HashMap<>();
-        List<GameSubject> gameSubjects = gameSubjectRepository.findAll().stream().sorted().collect(Collectors.toList());
-        if (gameSubjects.isEmpty())
-            throw new NotExistException("There is no game subject in DB.");
-
-        String lastCategory = gameSubjects.get(0).getCategory();
-        List<String> keywords = new ArrayList<>();
-        for (GameSubject subject : gameSubjects) {
-            String category = subject.getCategory();
-            String keyword = subject.getKeyword();
-
-            if (lastCategory.equals(subject.getCategory())) {
-                keywords.add(keyword);
-            } else {
-                ret.put(lastCategory, keywords);
-                lastCategory = category;
-                keywords = new ArrayList<>();
-                keywords.add(keyword);
-            }
-        }
-        if (!keywords.isEmpty())
-            ret.put(lastCategory, keywords);
-        return ret;
+        return subjectsOf(getCatalog());
     }
 
     public List<String> getAllCategory() throws NotExistException {
-        if (hasNoCategory())
-            loadInitialCategory();
+        return getCatalog().getCategories();
+    }
 
-        log.info("all categories :{}", gameSubjectRepository.findAll());
-        return gameSubjectRepository.findAll().stream().sorted().map(GameSubject::getCategory).distinct().collect(Collectors.toList());
+    private Map<String, List<String>> subjectsOf(SubjectCatalog catalog) throws NotExistException {
+        if (catalog.isEmpty())
+            throw new NotExistException("There is no game subject in DB.");
+        return catalog.getSubjects();
     }
 
     private boolean hasNoCategory() {
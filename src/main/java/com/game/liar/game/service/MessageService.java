@@ -1,17 +1,61 @@
 package com.game.liar.game.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.game.liar.exception.ErrorResult;
 import com.game.liar.game.domain.Global;
 import com.game.liar.game.dto.MessageContainer;
+import com.game.liar.game.dto.response.BatchResponse;
+import com.game.liar.game.dto.response.ErrorResponse;
+import com.game.liar.messagequeue.codec.ConnectionCodecRegistry;
+import com.game.liar.messagequeue.codec.MessageCodec;
+import com.game.liar.messagequeue.codec.MessageCodecs;
+import com.game.liar.messagequeue.publisher.MessagePublisher;
+import com.game.liar.messagequeue.publisher.OutboundMessage;
+import lombok.AllArgsConstructor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.converter.MessageConversionException;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static com.game.liar.game.domain.Global.NOTIFY_BATCH;
+
 @Service
 @Slf4j
 @RequiredArgsConstructor
 public class MessageService {
-    private final RabbitTemplate messagingTemplate;
+    private final MessagePublisher messagePublisher;
+    private final ConnectionCodecRegistry connectionCodecRegistry;
+    private final MessageCodecs messageCodecs;
+    private final ThreadLocal<List<PendingMessage>> pendingMessages = new ThreadLocal<>();
+
+    @Value("${messaging.coalesce:false}")
+    private boolean coalesce;
+
+    /**
+     * Game messages sent while the command runs are published together when it ends, if {@code messaging.coalesce} is on.
+     * Messages to the same destination are merged into one {@link Global#NOTIFY_BATCH} message, in the order they were sent.
+     * Order is kept only per destination: destinations are published in the order of their first message,
+     * so public A, private B, public C are sent as [batch(A, C), B].
+     */
+    public void batch(Runnable command) {
+        if (!coalesce || pendingMessages.get() != null) {
+            command.run();
+            return;
+        }
+        List<PendingMessage> messages = new ArrayList<>();
+        pendingMessages.set(messages);
+        try {
+            command.run();
+        } finally {
+            pendingMessages.remove();
+            flush(messages);
+        }
+    }
 
     public void sendPrivateMessage(String uuid, MessageContainer.Message message, String receiver, String roomId) {
         MessageContainer response = MessageContainer.messageContainerBuilder()
@@ -20,9 +64,32 @@ public class MessageService {
                 .message(message)
                 .build();
         log.info("Send private message. message: {}, [receiver:{}]", response, receiver);
-        messagingTemplate.convertAndSend("message.direct", String.format("room.%s.user.%s", roomId, receiver), response);
+        publish(Collections.singletonList(new PendingMessage("message.direct", String.format("room.%s.user.%s", roomId, receiver), response, connectionCodecRegistry.codecOf(receiver))));
+    }
+
+    /**
+     * Send a private message to each receiver on a single channel.
+     * Receivers sharing the same message instance and codec share one serialized payload.
+     */
+    public void sendPrivateMessages(String uuid, Map<String, MessageContainer.Message> messageByReceiver, String roomId) {
+        Map<MessageContainer.Message, MessageContainer> responses = new IdentityHashMap<>();
+        List<PendingMessage> messages = new ArrayList<>(messageByReceiver.size());
+        messageByReceiver.forEach((receiver, message) -> {
+            MessageContainer response = responses.computeIfAbsent(message, m -> MessageContainer.messageContainerBuilder()
+                    .uuid(uuid)
+                    .senderId("SERVER")
+                    .message(m)
+                    .build());
+            messages.add(new PendingMessage("message.direct", String.format("room.%s.user.%s", roomId, receiver), response, connectionCodecRegistry.codecOf(receiver)));
+        });
+        log.info("Send private messages. [room:{}][receivers:{}][messages:{}]", roomId, messageByReceiver.keySet(), responses.size());
+        publish(messages);
     }
 
+    /**
+     * Public messages are published once per codec used in the room.
+     * Clients which negotiated other codec than JSON listen to the routing key suffixed with the codec name.
+     */
     public void sendPublicMessage(String uuid, MessageContainer.Message message, String roomId) {
         MessageContainer response = MessageContainer.messageContainerBuilder()
                 .uuid(uuid)
@@ -30,7 +97,12 @@ public class MessageService {
                 .message(message)
                 .build();
         log.info("Send public message. message: {}, [room:{}]", response, roomId);
-        messagingTemplate.convertAndSend("amq.topic", String.format("room.%s.user.*", roomId), response);
+        List<PendingMessage> messages = new ArrayList<>();
+        messages.add(new PendingMessage("amq.topic", String.format("room.%s.user.*", roomId), response, messageCodecs.getJson()));
+        for (MessageCodec codec : connectionCodecRegistry.extraCodecsOf(roomId)) {
+            messages.add(new PendingMessage("amq.topic", String.format("room.%s.user.*.%s", roomId, codec.getName()), response, codec));
+        }
+        publish(messages);
     }
 
     public void sendErrorMessage(String uuid, MessageContainer.Message message, String receiver) {
@@ -40,13 +112,103 @@ public class MessageService {
                 .message(message)
                 .build();
         log.info("Send error message. message: {}, [receiver:{}]", response, receiver);
-        messagingTemplate.convertAndSend("message.error", String.format("user.%s", receiver), response);
+        publish(Collections.singletonList(new PendingMessage("message.error", String.format("user.%s", receiver), response, connectionCodecRegistry.codecOf(receiver))));
+    }
+
+    /**
+     * Error of a task which no user requested(e.g. timeout), every member of the room gets it
+     */
+    public void sendPublicErrorMessage(String uuid, ErrorResult error, String roomId) {
+        String errorMessage = new String(write(error, messageCodecs.getJson()), StandardCharsets.UTF_8);
+        sendPublicMessage(uuid, new MessageContainer.Message("METHOD_ERROR", new ErrorResponse(errorMessage)), roomId);
     }
 
     public void sendLoginInfoMessage(String roomId, Global.LoginInfo loginInfo) {
-        if(loginInfo.isLogin())
-            messagingTemplate.convertAndSend("amq.topic", String.format("room.%s.login", roomId), loginInfo);
+        String routingKey = String.format(loginInfo.isLogin() ? "room.%s.login" : "room.%s.logout", roomId);
+        messagePublisher.publish(encode("amq.topic", routingKey, loginInfo, messageCodecs.getJson()));
+    }
+
+    /**
+     * Chat messages are published as JSON to the chat topic of the room
+     */
+    public void sendChatMessage(String roomId, Object chatMessage) {
+        messagePublisher.publish(encode("amq.topic", String.format("room.%s.chat", roomId), chatMessage, messageCodecs.getJson()));
+    }
+
+    private void publish(List<PendingMessage> messages) {
+        List<PendingMessage> pending = pendingMessages.get();
+        if (pending != null) {
+            pending.addAll(messages);
+            return;
+        }
+        if (messages.size() == 1)
+            messagePublisher.publish(encode(messages.get(0)));
         else
-            messagingTemplate.convertAndSend("amq.topic", String.format("room.%s.logout", roomId), loginInfo);
+            messagePublisher.publishAll(encodeAll(messages));
+    }
+
+    private void flush(List<PendingMessage> messages) {
+        if (messages.isEmpty())
+            return;
+        Map<String, List<PendingMessage>> byDestination = messages.stream()
+                .collect(Collectors.groupingBy(PendingMessage::destination, LinkedHashMap::new, Collectors.toList()));
+        List<PendingMessage> merged = new ArrayList<>(byDestination.size());
+        for (List<PendingMessage> group : byDestination.values()) {
+            merged.add(group.size() == 1 ? group.get(0) : envelope(group));
+        }
+        log.debug("Flush {} messages as {} publishes", messages.size(), merged.size());
+        messagePublisher.publishAll(encodeAll(merged));
+    }
+
+    private PendingMessage envelope(List<PendingMessage> group) {
+        PendingMessage first = group.get(0);
+        MessageContainer response = MessageContainer.messageContainerBuilder()
+                .uuid(first.response.getUuid())
+                .senderId("SERVER")
+                .message(new MessageContainer.Message(NOTIFY_BATCH, new BatchResponse(group.stream().map(m -> m.response).collect(Collectors.toList()))))
+                .build();
+        return new PendingMessage(first.exchange, first.routingKey, response, first.codec);
+    }
+
+    /**
+     * Messages sharing the same response instance and codec share one serialized payload
+     */
+    private List<OutboundMessage> encodeAll(List<PendingMessage> messages) {
+        Map<MessageContainer, Map<MessageCodec, byte[]>> payloads = new IdentityHashMap<>();
+        List<OutboundMessage> encoded = new ArrayList<>(messages.size());
+        for (PendingMessage message : messages) {
+            byte[] payload = payloads.computeIfAbsent(message.response, r -> new IdentityHashMap<>())
+                    .computeIfAbsent(message.codec, c -> write(message.response, c));
+            encoded.add(new OutboundMessage(message.exchange, message.routingKey, payload, message.codec.getContentType()));
+        }
+        return encoded;
+    }
+
+    private OutboundMessage encode(PendingMessage message) {
+        return encode(message.exchange, message.routingKey, message.response, message.codec);
+    }
+
+    private OutboundMessage encode(String exchange, String routingKey, Object payload, MessageCodec codec) {
+        return new OutboundMessage(exchange, routingKey, write(payload, codec), codec.getContentType());
+    }
+
+    private byte[] write(Object payload, MessageCodec codec) {
+        try {
+            return codec.write(payload);
+        } catch (JsonProcessingException e) {
+            throw new MessageConversionException("Failed to encode message with " + codec, e);
+        }
+    }
+
+    @AllArgsConstructor
+    private static class PendingMessage {
+        private final String exchange;
+        private final String routingKey;
+        private final MessageContainer response;
+        private final MessageCodec codec;
+
+        String destination() {
+            return exchange + '/' + routingKey + '/' + codec.getName();
+        }
     }
 }
@@ -0,0 +1,49 @@
+package com.game.liar.game.service;
+
+import com.game.liar.utils.KeyedSerialExecutor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Mailbox of each room. Commands of the same room run one by one in arrival order,
+ * so a game is only touched by a single thread at a time and no lock is needed for it.
+ */
+@Component
+@Slf4j
+public class RoomCommandExecutor {
+    private final ExecutorService executorService;
+    private final KeyedSerialExecutor<String> executor;
+
+    @Autowired
+    public RoomCommandExecutor(@Value("${game.executor.pool-size:0}") int poolSize) {
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        this.executorService = Executors.newFixedThreadPool(threads, new CustomizableThreadFactory("Room Command Thread-"));
+        this.executor = new KeyedSerialExecutor<>(executorService);
+        log.info("[RoomCommandExecutor] started with {} threads", threads);
+    }
+
+    public void execute(String roomId, Runnable command) {
+        executor.execute(roomId, command);
+    }
+
+    public <T> CompletableFuture<T> submit(String roomId, Supplier<T> command) {
+        return executor.submit(roomId, command);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executorService.shutdown();
+        if (!executorService.awaitTermination(5, TimeUnit.SECONDS))
+            executorService.shutdownNow();
+    }
+}
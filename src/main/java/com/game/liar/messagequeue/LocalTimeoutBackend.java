@@ -0,0 +1,67 @@
+package com.game.liar.messagequeue;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timeout;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Room timers on an in-process hashed wheel. Schedule and cancel are O(1) and a room has at most one pending timer,
+ * which is removed from the map when it fires or is cancelled. Timers are lost on restart.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "game.timeout.backend", havingValue = "local", matchIfMissing = true)
+public class LocalTimeoutBackend implements TimeoutBackend {
+    private final HashedWheelTimer gameTimer;
+    private final TimeoutService timeoutService;
+    private final Map<String, Timeout> timers = new ConcurrentHashMap<>();
+    private final Timer firingLag;
+
+    public LocalTimeoutBackend(HashedWheelTimer gameTimer, TimeoutService timeoutService, MeterRegistry meterRegistry) {
+        this.gameTimer = gameTimer;
+        this.timeoutService = timeoutService;
+        Gauge.builder("game.timer.pending", timers, Map::size)
+                .description("Number of room timers waiting to fire")
+                .register(meterRegistry);
+        this.firingLag = Timer.builder("game.timer.lag")
+                .description("Delay between the deadline of a room timer and its firing")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void schedule(TimeoutManager.TimeoutData data, long delayMillis) {
+        String roomId = data.getRoomId();
+        long deadline = System.currentTimeMillis() + delayMillis;
+        //armed inside compute, so a timer firing right away waits for the map entry and finds itself
+        timers.compute(roomId, (id, previous) -> {
+            if (previous != null)
+                previous.cancel();
+            return gameTimer.newTimeout(fired -> {
+                if (!timers.remove(roomId, fired)) return;
+                firingLag.record(Math.max(0, System.currentTimeMillis() - deadline), TimeUnit.MILLISECONDS);
+                try {
+                    timeoutService.onTimeout(data);
+                } catch (JsonProcessingException e) {
+                    throw new RuntimeException(e);
+                }
+            }, delayMillis, TimeUnit.MILLISECONDS);
+        });
+    }
+
+    @Override
+    public void cancel(String roomId) {
+        Timeout timer = timers.remove(roomId);
+        if (timer != null)
+            timer.cancel();
+    }
+}
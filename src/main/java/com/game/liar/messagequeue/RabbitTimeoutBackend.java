@@ -0,0 +1,66 @@
+package com.game.liar.messagequeue;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.game.liar.messagequeue.config.RabbitTimeoutConfig.TimeoutNode;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.game.liar.messagequeue.config.RabbitTimeoutConfig.TIMEOUT_EXCHANGE;
+
+/**
+ * Room timers as TTL messages in RabbitMQ. A timer is stamped with the node id of the instance which scheduled it,
+ * and fires only on that instance, which holds the live game of the room. Other instances never see it.
+ * Pending timers survive a restart when {@code game.node-id} is fixed per instance.
+ * A message can't be removed from the queue, so cancel is a no-op and stale timers are dropped by the timer id check of the game.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "game.timeout.backend", havingValue = "rabbit")
+public class RabbitTimeoutBackend implements TimeoutBackend {
+    private static final String DEADLINE_HEADER = "x-timer-deadline";
+
+    private final RabbitTemplate rabbitTemplate;
+    private final TimeoutService timeoutService;
+    private final TimeoutNode timeoutNode;
+    private final Timer firingLag;
+
+    public RabbitTimeoutBackend(RabbitTemplate rabbitTemplate, TimeoutService timeoutService, TimeoutNode timeoutNode, MeterRegistry meterRegistry) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.timeoutService = timeoutService;
+        this.timeoutNode = timeoutNode;
+        this.firingLag = Timer.builder("game.timer.lag")
+                .description("Delay between the deadline of a room timer and its firing")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void schedule(TimeoutManager.TimeoutData data, long delayMillis) {
+        long deadline = System.currentTimeMillis() + delayMillis;
+        rabbitTemplate.convertAndSend(TIMEOUT_EXCHANGE, timeoutNode.getRoutingKey(), data, message -> {
+            message.getMessageProperties().setExpiration(String.valueOf(delayMillis));
+            message.getMessageProperties().setHeader(DEADLINE_HEADER, deadline);
+            return message;
+        });
+    }
+
+    @Override
+    public void cancel(String roomId) {
+        log.debug("[RabbitTimeoutBackend] timer of [room:{}] will be ignored when it fires", roomId);
+    }
+
+    @RabbitListener(queues = "#{timeoutNode.firedQueue}")
+    public void onExpired(TimeoutManager.TimeoutData data, @Header(name = DEADLINE_HEADER, required = false) Long deadline) throws JsonProcessingException {
+        if (deadline != null)
+            firingLag.record(Math.max(0, System.currentTimeMillis() - deadline), TimeUnit.MILLISECONDS);
+        log.info("[RabbitTimeoutBackend] timer expired : {}", data);
+        timeoutService.onTimeout(data);
+    }
+}
@@ -0,0 +1,11 @@
+package com.game.liar.messagequeue;
+
+/**
+ * Where room timers wait until they expire. Expired timers are handed to {@link TimeoutService#onTimeout}.
+ * A timer may fire after it is cancelled or fire more than once, so receivers check {@link TimeoutManager.TimeoutData#getTimerId()}.
+ */
+public interface TimeoutBackend {
+    void schedule(TimeoutManager.TimeoutData data, long delayMillis);
+
+    void cancel(String roomId);
+}
@@ -1,52 +1,45 @@
 package com.game.liar.messagequeue;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.game.liar.game.config.TimerInfoThreadPoolTaskScheduler;
 import lombok.*;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
-import java.time.Instant;
-import java.util.TimerTask;
+import java.util.UUID;
 
 @Service
 @Slf4j
 public class TimeoutManager {
-    private final TimerInfoThreadPoolTaskScheduler taskScheduler;
+    private final TimeoutBackend timeoutBackend;
     @Setter(value = AccessLevel.PUBLIC) //for test
     private static Integer timeout = 20000;
-    private final TimeoutService timeoutService;
 
-    public TimeoutManager(TimerInfoThreadPoolTaskScheduler taskScheduler, TimeoutService timeoutService) {
-        this.taskScheduler = taskScheduler;
-        this.timeoutService = timeoutService;
+    public TimeoutManager(TimeoutBackend timeoutBackend) {
+        this.timeoutBackend = timeoutBackend;
     }
 
-    public void timerStart(String uuid, String roomId, TimeoutData.TimerType timerType) {
-        taskScheduler.schedule(new TimerTask() {
-            @Override
-            public void run() {
-                try {
-                    timeoutService.onTimeout(new TimeoutData(uuid, roomId, timerType));
-                } catch (JsonProcessingException e) {
-                    throw new RuntimeException(e);
-                }
-            }
-        }, Instant.now().plusMillis(timeout), new TimerInfoThreadPoolTaskScheduler.TimerInfo(roomId));
+    /**
+     * @return id of the started timer. Only the timeout of the latest timer of the room should be handled
+     */
+    public String timerStart(String uuid, String roomId, TimeoutData.TimerType timerType) {
+        String timerId = UUID.randomUUID().toString();
+        timeoutBackend.schedule(new TimeoutData(uuid, roomId, timerType, timerId), timeout);
+        return timerId;
     }
 
     public void cancel(String roomId) {
-        taskScheduler.cancel(new TimerInfoThreadPoolTaskScheduler.TimerInfo(roomId));
+        timeoutBackend.cancel(roomId);
     }
 
     @Getter
     @AllArgsConstructor
     @NoArgsConstructor
     @Setter
+    @ToString
     public static class TimeoutData {
         String uuid;
         String roomId;
         TimerType timerType;
+        String timerId;
 
         public enum TimerType {
             ANSWER,
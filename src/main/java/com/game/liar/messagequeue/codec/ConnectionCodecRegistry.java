@@ -0,0 +1,79 @@
+package com.game.liar.messagequeue.codec;
+
+import com.game.liar.websocket.WebsocketDisconnectedEvent;
+import lombok.AllArgsConstructor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Codec negotiated by each websocket connection on CONNECT. Only connections with a non default codec are kept,
+ * until they disconnect.
+ * Keeps the number of connections per non default codec of each room, so that public messages are encoded only for codecs in use.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class ConnectionCodecRegistry {
+    private final MessageCodecs messageCodecs;
+    private final Map<String, Connection> connections = new ConcurrentHashMap<>();
+    private final Map<String, MessageCodec> codecByUser = new ConcurrentHashMap<>();
+    private final Map<String, Map<MessageCodec, AtomicInteger>> codecsByRoom = new ConcurrentHashMap<>();
+
+    public void register(String sessionId, String roomId, String userId, MessageCodec codec) {
+        log.info("[ConnectionCodecRegistry] [room:{}][user:{}] uses {}", roomId, userId, codec);
+        if (messageCodecs.isDefault(codec)) {
+            //users on the default codec are not kept, codecOf falls back to it
+            codecByUser.remove(userId);
+            return;
+        }
+        codecByUser.put(userId, codec);
+        connections.put(sessionId, new Connection(roomId, userId, codec));
+        codecsByRoom.compute(roomId, (key, codecs) -> {
+            if (codecs == null)
+                codecs = new ConcurrentHashMap<>();
+            codecs.computeIfAbsent(codec, c -> new AtomicInteger()).incrementAndGet();
+            return codecs;
+        });
+    }
+
+    @EventListener
+    public void onDisconnected(WebsocketDisconnectedEvent event) {
+        if (event.getSessionId() == null) return;
+        Connection connection = connections.remove(event.getSessionId());
+        if (connection == null) return;
+        codecByUser.remove(connection.userId, connection.codec);
+        codecsByRoom.computeIfPresent(connection.roomId, (key, codecs) -> {
+            AtomicInteger count = codecs.get(connection.codec);
+            if (count != null && count.decrementAndGet() <= 0)
+                codecs.remove(connection.codec);
+            return codecs.isEmpty() ? null : codecs;
+        });
+    }
+
+    public MessageCodec codecOf(String userId) {
+        return codecByUser.getOrDefault(userId, messageCodecs.getJson());
+    }
+
+    /**
+     * @return non default codecs used by connections in the room
+     */
+    public Set<MessageCodec> extraCodecsOf(String roomId) {
+        Map<MessageCodec, AtomicInteger> codecs = codecsByRoom.get(roomId);
+        return codecs == null ? Collections.emptySet() : codecs.keySet();
+    }
+
+    @AllArgsConstructor
+    private static class Connection {
+        private final String roomId;
+        private final String userId;
+        private final MessageCodec codec;
+    }
+}
@@ -0,0 +1,42 @@
+package com.game.liar.messagequeue.codec;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.game.liar.game.dto.MessageContainer;
+import lombok.Getter;
+
+import java.io.IOException;
+
+/**
+ * Wire format of game messages for a connection
+ */
+public class MessageCodec {
+    @Getter
+    private final String name;
+    @Getter
+    private final String contentType;
+    private final ObjectReader messageReader;
+    private final ObjectWriter writer;
+
+    public MessageCodec(String name, String contentType, ObjectMapper objectMapper) {
+        this.name = name;
+        this.contentType = contentType;
+        this.messageReader = objectMapper.readerFor(MessageContainer.class);
+        this.writer = objectMapper.writer();
+    }
+
+    public MessageContainer read(byte[] payload) throws IOException {
+        return messageReader.readValue(payload);
+    }
+
+    public byte[] write(Object value) throws JsonProcessingException {
+        return writer.writeValueAsBytes(value);
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
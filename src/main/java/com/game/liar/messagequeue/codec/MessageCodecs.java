@@ -0,0 +1,36 @@
+package com.game.liar.messagequeue.codec;
+
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.module.afterburner.AfterburnerModule;
+import com.game.liar.utils.MessageJsonMapper;
+import lombok.Getter;
+import org.springframework.stereotype.Component;
+
+/**
+ * Supported wire formats. JSON is the default, CBOR is used when a client asks for it with the STOMP content-type header.
+ */
+@Component
+@Getter
+public class MessageCodecs {
+    public static final String CBOR_CONTENT_TYPE = "application/cbor";
+
+    private final MessageCodec json;
+    private final MessageCodec cbor;
+
+    public MessageCodecs(MessageJsonMapper messageJsonMapper) {
+        json = new MessageCodec("json", "application/json", messageJsonMapper.getObjectMapper());
+        CBORMapper cborMapper = new CBORMapper();
+        cborMapper.registerModule(new AfterburnerModule());
+        cbor = new MessageCodec("cbor", CBOR_CONTENT_TYPE, cborMapper);
+    }
+
+    public MessageCodec forContentType(Object contentType) {
+        if (contentType != null && contentType.toString().startsWith(CBOR_CONTENT_TYPE))
+            return cbor;
+        return json;
+    }
+
+    public boolean isDefault(MessageCodec codec) {
+        return codec == json;
+    }
+}
@@ -0,0 +1,46 @@
+package com.game.liar.messagequeue.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Asynchronous publishing to RabbitMQ
+ */
+@Component
+@ConfigurationProperties(prefix = "messaging.publisher")
+@Getter
+@Setter
+public class PublisherProperties {
+    /**
+     * 0 means the number of cores
+     */
+    private int threads = 0;
+    /**
+     * Messages waiting to be published. Further messages are dropped and counted
+     */
+    private int queueCapacity = 10000;
+    /**
+     * Wait for broker acks and retry nacked messages
+     */
+    private boolean confirms = true;
+    /**
+     * Attempts including the first one
+     */
+    private int maxAttempts = 3;
+    private long initialBackoff = 100;
+    private double backoffMultiplier = 2.0;
+    private long maxBackoff = 2000;
+
+    public int threads() {
+        return threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * @param attempt attempt which failed, starting from 1
+     */
+    public long backoffOf(int attempt) {
+        return Math.min(maxBackoff, (long) (initialBackoff * Math.pow(backoffMultiplier, attempt - 1)));
+    }
+}
@@ -1,7 +1,7 @@
 package com.game.liar.messagequeue.config;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
+import com.game.liar.utils.MessageJsonMapper;
+import lombok.RequiredArgsConstructor;
 import org.springframework.amqp.rabbit.annotation.EnableRabbit;
 import org.springframework.amqp.rabbit.connection.CachingConnectionFactory;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
@@ -10,10 +10,19 @@ import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
 
+/**
+ * Not loaded with the embedded-broker profile, which runs without RabbitMQ
+ */
 @Configuration
 @EnableRabbit
+@Profile("!embedded-broker")
+@RequiredArgsConstructor
 public class RabbitConfig {
+    private final MessageJsonMapper messageJsonMapper;
+    private final PublisherProperties publisherProperties;
+
     @Value("${rabbitmq.host}")
     private String host;
     @Value("${rabbitmq.username}")
@@ -34,13 +43,13 @@ public class RabbitConfig {
         factory.setHost(host);
         factory.setUsername(username);
         factory.setPassword(password);
+        if (publisherProperties.isConfirms())
+            factory.setPublisherConfirmType(CachingConnectionFactory.ConfirmType.CORRELATED);
         return factory;
     }
 
     @Bean
     public Jackson2JsonMessageConverter jsonMessageConverter() {
-        ObjectMapper objectMapper = new ObjectMapper();
-        objectMapper.configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, true);
-        return new Jackson2JsonMessageConverter(objectMapper);
+        return new Jackson2JsonMessageConverter(messageJsonMapper.getObjectMapper());
     }
 }
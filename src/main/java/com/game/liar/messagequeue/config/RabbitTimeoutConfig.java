@@ -0,0 +1,92 @@
+package com.game.liar.messagequeue.config;
+
+import lombok.Getter;
+import org.springframework.amqp.core.*;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+
+import java.util.UUID;
+
+/**
+ * Timer topology. A timer waits in the shared {@link #WAIT_QUEUE} until its message TTL expires,
+ * then it is dead-lettered with its original routing key {@code wait.<node id>} to {@link #FIRED_EXCHANGE},
+ * which routes it to the fired queue of the instance that scheduled it, i.e. the instance owning the game of the room.
+ * All timers have the same duration, so expiring only at the head of the wait queue keeps them in order.
+ */
+@Configuration
+@ConditionalOnProperty(name = "game.timeout.backend", havingValue = "rabbit")
+public class RabbitTimeoutConfig {
+    public static final String TIMEOUT_EXCHANGE = "game.timeout.scheduled";
+    public static final String FIRED_EXCHANGE = "game.timeout.fired";
+    public static final String WAIT_QUEUE = "game.timeout.pending";
+    public static final String FIRED_QUEUE_PREFIX = "game.timeout.fired.";
+    public static final String WAIT_ROUTING_KEY_PREFIX = "wait.";
+
+    @Bean
+    public TimeoutNode timeoutNode(@Value("${game.node-id:}") String nodeId) {
+        return new TimeoutNode(nodeId);
+    }
+
+    @Bean
+    public TopicExchange timeoutExchange() {
+        return new TopicExchange(TIMEOUT_EXCHANGE, true, false);
+    }
+
+    @Bean
+    public DirectExchange timeoutFiredExchange() {
+        return new DirectExchange(FIRED_EXCHANGE, true, false);
+    }
+
+    @Bean
+    public Queue timeoutWaitQueue() {
+        return QueueBuilder.durable(WAIT_QUEUE)
+                .deadLetterExchange(FIRED_EXCHANGE)
+                .build();
+    }
+
+    /**
+     * Durable when the node id is configured, so pending timers are consumed again after a restart of the same node.
+     * Otherwise the queue lives as long as this instance and timers fired after it stopped are dropped, like its in-memory games.
+     */
+    @Bean
+    public Queue timeoutFiredQueue(TimeoutNode timeoutNode) {
+        if (timeoutNode.isConfigured())
+            return QueueBuilder.durable(timeoutNode.getFiredQueue()).build();
+        return QueueBuilder.nonDurable(timeoutNode.getFiredQueue()).autoDelete().build();
+    }
+
+    @Bean
+    public Binding timeoutWaitBinding() {
+        return BindingBuilder.bind(timeoutWaitQueue()).to(timeoutExchange()).with(WAIT_ROUTING_KEY_PREFIX + "#");
+    }
+
+    @Bean
+    public Binding timeoutFiredBinding(TimeoutNode timeoutNode) {
+        return BindingBuilder.bind(timeoutFiredQueue(timeoutNode)).to(timeoutFiredExchange()).with(timeoutNode.getRoutingKey());
+    }
+
+    /**
+     * Identity of this instance in the timer topology, {@code game.node-id} or a random id per start
+     */
+    @Getter
+    public static class TimeoutNode {
+        private final String nodeId;
+        private final boolean configured;
+
+        public TimeoutNode(String nodeId) {
+            this.configured = StringUtils.hasText(nodeId);
+            this.nodeId = configured ? nodeId : UUID.randomUUID().toString();
+        }
+
+        public String getRoutingKey() {
+            return WAIT_ROUTING_KEY_PREFIX + nodeId;
+        }
+
+        public String getFiredQueue() {
+            return FIRED_QUEUE_PREFIX + nodeId;
+        }
+    }
+}
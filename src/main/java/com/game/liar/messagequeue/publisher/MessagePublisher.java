@@ -0,0 +1,13 @@
+package com.game.liar.messagequeue.publisher;
+
+import java.util.List;
+
+/**
+ * Delivers server messages to subscribed clients.
+ * The relay publisher goes through RabbitMQ for clustered deployments, the simple broker publisher delivers in process on a single node.
+ */
+public interface MessagePublisher {
+    void publish(OutboundMessage message);
+
+    void publishAll(List<OutboundMessage> messages);
+}
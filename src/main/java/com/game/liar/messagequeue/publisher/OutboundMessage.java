@@ -0,0 +1,27 @@
+package com.game.liar.messagequeue.publisher;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Encoded message addressed with the RabbitMQ exchange and routing key scheme.
+ * The body may be shared by several messages, so it should not be modified.
+ */
+@Getter
+@AllArgsConstructor
+public class OutboundMessage {
+    private final String exchange;
+    private final String routingKey;
+    private final byte[] body;
+    private final String contentType;
+
+    @Override
+    public String toString() {
+        return "OutboundMessage:{" +
+                "\"exchange\":\"" + exchange + '\"' +
+                ", \"routingKey\":\"" + routingKey + '\"' +
+                ", \"contentType\":\"" + contentType + '\"' +
+                ", \"length\":" + body.length +
+                '}';
+    }
+}
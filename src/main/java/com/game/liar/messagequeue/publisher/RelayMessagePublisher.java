@@ -0,0 +1,202 @@
+package com.game.liar.messagequeue.publisher;
+
+import com.game.liar.messagequeue.config.PublisherProperties;
+import com.game.liar.utils.KeyedSerialExecutor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitOperations;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Publishes to RabbitMQ, the STOMP relay of every node delivers the message to its subscribers.
+ * Messages are queued and published by publisher threads, so the caller does not wait for the broker.
+ * Messages of the same room are published in order, a batch of messages on one channel. With confirms, nacked or failed messages are retried with backoff,
+ * a retried message may be published after later messages of its room.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "messaging.broker", havingValue = "relay", matchIfMissing = true)
+public class RelayMessagePublisher implements MessagePublisher {
+    private final RabbitTemplate rabbitTemplate;
+    private final PublisherProperties properties;
+    private final ThreadPoolTaskExecutor publisherThreads = new ThreadPoolTaskExecutor();
+    private final ThreadPoolTaskScheduler retryScheduler = new ThreadPoolTaskScheduler();
+    private final KeyedSerialExecutor<String> roomExecutor = new KeyedSerialExecutor<>(publisherThreads);
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Counter confirmed;
+    private final Counter nacked;
+    private final Counter retried;
+    private final Counter overloaded;
+    private final Counter exhausted;
+
+    public RelayMessagePublisher(RabbitTemplate rabbitTemplate, PublisherProperties properties, MeterRegistry meterRegistry) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.properties = properties;
+        publisherThreads.setCorePoolSize(properties.threads());
+        publisherThreads.setMaxPoolSize(properties.threads());
+        publisherThreads.setThreadNamePrefix("publisher-");
+        publisherThreads.setWaitForTasksToCompleteOnShutdown(true);
+        publisherThreads.setAwaitTerminationSeconds(5);
+        publisherThreads.initialize();
+        retryScheduler.setThreadNamePrefix("publisher-retry-");
+        retryScheduler.initialize();
+
+        Gauge.builder("messaging.publisher.queued", queued, AtomicInteger::get)
+                .description("Messages waiting for a publisher thread")
+                .register(meterRegistry);
+        Gauge.builder("messaging.publisher.inflight", inFlight, AtomicInteger::get)
+                .description("Published messages waiting for the broker confirm")
+                .register(meterRegistry);
+        confirmed = Counter.builder("messaging.publisher.confirmed").register(meterRegistry);
+        nacked = Counter.builder("messaging.publisher.nacked").register(meterRegistry);
+        retried = Counter.builder("messaging.publisher.retried").register(meterRegistry);
+        overloaded = Counter.builder("messaging.publisher.dropped").tag("reason", "overloaded").register(meterRegistry);
+        exhausted = Counter.builder("messaging.publisher.dropped").tag("reason", "exhausted").register(meterRegistry);
+    }
+
+    @Override
+    public void publish(OutboundMessage message) {
+        publishAll(Collections.singletonList(message));
+    }
+
+    /**
+     * Messages are published in the given order
+     */
+    @Override
+    public void publishAll(List<OutboundMessage> messages) {
+        if (messages.isEmpty())
+            return;
+        if (queued.addAndGet(messages.size()) > properties.getQueueCapacity()) {
+            queued.addAndGet(-messages.size());
+            overloaded.increment(messages.size());
+            log.error("[Publisher] overloaded, {} messages are dropped. first : {}", messages.size(), messages.get(0));
+            return;
+        }
+        roomExecutor.execute(keyOf(messages.get(0)), () -> {
+            queued.addAndGet(-messages.size());
+            sendInOneChannel(messages);
+        });
+    }
+
+    public int getQueuedCount() {
+        return queued.get();
+    }
+
+    public int getInFlightCount() {
+        return inFlight.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        publisherThreads.shutdown();
+        retryScheduler.shutdown();
+    }
+
+    /**
+     * The batch(e.g. private messages of every room member) shares one channel checkout, each message keeps its own confirm
+     */
+    private void sendInOneChannel(List<OutboundMessage> messages) {
+        if (messages.size() == 1) {
+            send(rabbitTemplate, messages.get(0), 1);
+            return;
+        }
+        AtomicInteger sent = new AtomicInteger();
+        try {
+            rabbitTemplate.invoke(operations -> {
+                for (OutboundMessage message : messages) {
+                    send(operations, message, 1);
+                    sent.incrementAndGet();
+                }
+                return null;
+            });
+        } catch (AmqpException e) {
+            //channel checkout failed, the messages not handed to the channel are retried
+            for (OutboundMessage message : messages.subList(sent.get(), messages.size())) {
+                retry(message, 1, e.getMessage());
+            }
+        }
+    }
+
+    private void send(RabbitOperations operations, OutboundMessage message, int attempt) {
+        if (!properties.isConfirms()) {
+            try {
+                operations.send(message.getExchange(), message.getRoutingKey(), toAmqpMessage(message));
+            } catch (AmqpException e) {
+                retry(message, attempt, e.getMessage());
+            }
+            return;
+        }
+        CorrelationData correlation = new CorrelationData();
+        inFlight.incrementAndGet();
+        try {
+            operations.send(message.getExchange(), message.getRoutingKey(), toAmqpMessage(message), correlation);
+        } catch (AmqpException e) {
+            //not sent, no confirm will come
+            inFlight.decrementAndGet();
+            retry(message, attempt, e.getMessage());
+            return;
+        }
+        correlation.getFuture().addCallback(confirm -> {
+            inFlight.decrementAndGet();
+            if (confirm != null && confirm.isAck()) {
+                confirmed.increment();
+                return;
+            }
+            nacked.increment();
+            retry(message, attempt, confirm == null ? null : confirm.getReason());
+        }, e -> {
+            inFlight.decrementAndGet();
+            nacked.increment();
+            retry(message, attempt, e.getMessage());
+        });
+    }
+
+    private void retry(OutboundMessage message, int attempt, String reason) {
+        if (attempt >= properties.getMaxAttempts()) {
+            exhausted.increment();
+            log.error("[Publisher] {} is dropped after {} attempts. reason : {}", message, attempt, reason);
+            return;
+        }
+        long backoff = properties.backoffOf(attempt);
+        log.warn("[Publisher] {} failed, retry in {}ms. reason : {}", message, backoff, reason);
+        retried.increment();
+        retryScheduler.schedule(() -> roomExecutor.execute(keyOf(message), () -> send(rabbitTemplate, message, attempt + 1)),
+                new Date(System.currentTimeMillis() + backoff));
+    }
+
+    /**
+     * room.{roomId}.… keys are ordered by room, the others(user.{userId} of errors) by routing key
+     */
+    private String keyOf(OutboundMessage message) {
+        String routingKey = message.getRoutingKey();
+        if (routingKey.startsWith("room.")) {
+            int end = routingKey.indexOf('.', "room.".length());
+            return end < 0 ? routingKey : routingKey.substring(0, end);
+        }
+        return routingKey;
+    }
+
+    private Message toAmqpMessage(OutboundMessage message) {
+        MessageProperties messageProperties = new MessageProperties();
+        messageProperties.setContentType(message.getContentType());
+        messageProperties.setContentLength(message.getBody().length);
+        return new Message(message.getBody(), messageProperties);
+    }
+}
@@ -0,0 +1,58 @@
+package com.game.liar.messagequeue.publisher;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+
+import java.util.List;
+
+/**
+ * Delivers in process through the simple broker of this node, without RabbitMQ.
+ * Exchanges are mapped to the destinations clients subscribe to through the relay, so clients work with both brokers.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "messaging.broker", havingValue = "simple")
+public class SimpleBrokerMessagePublisher implements MessagePublisher {
+    static final String TOPIC_EXCHANGE = "amq.topic";
+
+    // broker template is created by the websocket configuration which depends on the message services
+    private final ObjectProvider<SimpMessagingTemplate> brokerMessagingTemplate;
+
+    public SimpleBrokerMessagePublisher(ObjectProvider<SimpMessagingTemplate> brokerMessagingTemplate) {
+        this.brokerMessagingTemplate = brokerMessagingTemplate;
+    }
+
+    @Override
+    public void publish(OutboundMessage message) {
+        SimpMessagingTemplate template = brokerMessagingTemplate.getObject();
+        send(template, message);
+    }
+
+    @Override
+    public void publishAll(List<OutboundMessage> messages) {
+        SimpMessagingTemplate template = brokerMessagingTemplate.getObject();
+        for (OutboundMessage message : messages) {
+            send(template, message);
+        }
+    }
+
+    static String destinationOf(OutboundMessage message) {
+        if (TOPIC_EXCHANGE.equals(message.getExchange()))
+            return "/topic/" + message.getRoutingKey();
+        return "/exchange/" + message.getExchange() + "/" + message.getRoutingKey();
+    }
+
+    private void send(SimpMessagingTemplate template, OutboundMessage message) {
+        String destination = destinationOf(message);
+        log.debug("[SimpleBroker] send to {}", destination);
+        template.send(destination, MessageBuilder.withPayload(message.getBody())
+                .setHeader(MessageHeaders.CONTENT_TYPE, MimeTypeUtils.parseMimeType(message.getContentType()))
+                .build());
+    }
+}
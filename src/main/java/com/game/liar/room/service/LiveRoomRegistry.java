@@ -0,0 +1,81 @@
+package com.game.liar.room.service;
+
+import com.game.liar.room.domain.RoomId;
+import com.game.liar.room.repository.RoomRepository;
+import com.game.liar.utils.ExpiringKeySet;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Ids of live rooms, so existence checks on the chat and game paths are answered from memory.
+ * Rooms are registered when created and unregistered when the room or its game is removed.
+ * A room which is not registered(e.g. created before restart or on another node) is looked up in DB and registered if it exists,
+ * an id which is not in DB is remembered as missing for a while, so unknown ids don't query DB on every check.
+ */
+@Component
+@Slf4j
+public class LiveRoomRegistry {
+    private static final long MISSING_TTL_MS = 30_000;
+    private static final int MISSING_MAX_SIZE = 10_000;
+
+    private final Predicate<RoomId> loader;
+    private final Set<RoomId> rooms = ConcurrentHashMap.newKeySet();
+    private final ExpiringKeySet<RoomId> missing = new ExpiringKeySet<>(MISSING_TTL_MS, MISSING_MAX_SIZE);
+
+    @Autowired
+    public LiveRoomRegistry(RoomRepository roomRepository) {
+        this(roomRepository::existsById);
+    }
+
+    public LiveRoomRegistry(Predicate<RoomId> loader) {
+        this.loader = loader;
+    }
+
+    public boolean contains(RoomId roomId) {
+        if (rooms.contains(roomId))
+            return true;
+        if (missing.contains(roomId))
+            return false;
+        if (!loader.test(roomId)) {
+            missing.add(roomId);
+            return false;
+        }
+        log.debug("[LiveRoomRegistry] register room found in DB [room:{}]", roomId.getId());
+        rooms.add(roomId);
+        return true;
+    }
+
+    public void register(RoomId roomId) {
+        afterCommit(() -> {
+            missing.remove(roomId);
+            rooms.add(roomId);
+        });
+    }
+
+    public void unregister(RoomId roomId) {
+        afterCommit(() -> rooms.remove(roomId));
+    }
+
+    /**
+     * Registry changes made in a transaction are visible only after the transaction commits
+     */
+    private void afterCommit(Runnable update) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            update.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                update.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,131 @@
+package com.game.liar.room.service;
+
+import com.game.liar.room.domain.RoomId;
+import com.game.liar.room.event.UserAddedEvent;
+import com.game.liar.room.event.UserRemovedEvent;
+import com.game.liar.user.repository.UserRepository;
+import com.game.liar.websocket.WebsocketConnectedEvent;
+import com.game.liar.websocket.WebsocketDisconnectedEvent;
+import lombok.AllArgsConstructor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * User ids of each room in join order. A live room which is not cached yet is loaded from DB once,
+ * afterwards it is kept up to date by {@link RoomService} and by user/websocket events.
+ * Rooms which are not live({@link LiveRoomRegistry}) are never cached, and updates for rooms which are not cached are ignored,
+ * so a late event can't bring back an evicted room.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class RoomMembershipCache {
+    private final UserRepository userRepository;
+    private final LiveRoomRegistry liveRoomRegistry;
+    private final Map<RoomId, Set<String>> members = new ConcurrentHashMap<>();
+    private final Map<String, Session> sessions = new ConcurrentHashMap<>();
+
+    public List<String> getUserIds(RoomId roomId) {
+        Set<String> users = membersOf(roomId);
+        synchronized (users) {
+            return new ArrayList<>(users);
+        }
+    }
+
+    public boolean contains(RoomId roomId, String userId) {
+        return membersOf(roomId).contains(userId);
+    }
+
+    public void add(RoomId roomId, String userId) {
+        afterCommit(() -> members.computeIfPresent(roomId, (key, users) -> {
+            users.add(userId);
+            return users;
+        }));
+    }
+
+    public void remove(RoomId roomId, String userId) {
+        afterCommit(() -> {
+            Set<String> users = members.get(roomId);
+            if (users != null)
+                users.remove(userId);
+        });
+    }
+
+    public void evict(RoomId roomId) {
+        afterCommit(() -> members.remove(roomId));
+    }
+
+    @EventListener
+    public void onUserAdded(UserAddedEvent event) {
+        if (event.getRoomId() == null || event.getUser() == null) return;
+        add(RoomId.of(event.getRoomId()), event.getUser().getUserId());
+    }
+
+    @EventListener
+    public void onUserRemoved(UserRemovedEvent event) {
+        if (event.getRoomId() == null || event.getUser() == null) return;
+        remove(RoomId.of(event.getRoomId()), event.getUser().getUserId());
+    }
+
+    @EventListener
+    public void onConnected(WebsocketConnectedEvent event) {
+        if (event.getRoomId() == null || event.getUserId() == null || event.getSessionId() == null) return;
+        RoomId roomId = RoomId.of(event.getRoomId());
+        sessions.put(event.getSessionId(), new Session(roomId, event.getUserId()));
+        add(roomId, event.getUserId());
+    }
+
+    @EventListener
+    public void onDisconnected(WebsocketDisconnectedEvent event) {
+        if (event.getSessionId() == null) return;
+        Session session = sessions.remove(event.getSessionId());
+        if (session != null)
+            remove(session.roomId, session.userId);
+    }
+
+    private Set<String> membersOf(RoomId roomId) {
+        Set<String> users = members.get(roomId);
+        if (users != null)
+            return users;
+        if (!liveRoomRegistry.contains(roomId))
+            return Collections.emptySet();
+        return members.computeIfAbsent(roomId, this::load);
+    }
+
+    private Set<String> load(RoomId roomId) {
+        log.debug("[RoomMembershipCache] load members of [room:{}]", roomId.getId());
+        return userRepository.findByRoomId(roomId).stream()
+                .map(user -> user.getUserId().getUserId())
+                .collect(Collectors.toCollection(() -> Collections.synchronizedSet(new LinkedHashSet<>())));
+    }
+
+    /**
+     * Membership changed in a transaction is visible only after the transaction commits
+     */
+    private void afterCommit(Runnable update) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            update.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                update.run();
+            }
+        });
+    }
+
+    @AllArgsConstructor
+    private static class Session {
+        private final RoomId roomId;
+        private final String userId;
+    }
+}
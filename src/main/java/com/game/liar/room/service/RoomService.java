@@ -1,5 +1,6 @@
 package com.game.liar.room.service;
 
+import com.game.liar.chat.service.ChatHistory;
 import com.game.liar.exception.MaxCountException;
 import com.game.liar.exception.NotExistException;
 import com.game.liar.game.domain.RoomSettings;
@@ -39,6 +40,9 @@ public class RoomService {
     private final UserRepository userRepository;
     private final PasswordEncoder encoder;
     private final JwtService jwtService;
+    private final RoomMembershipCache roomMembershipCache;
+    private final LiveRoomRegistry liveRoomRegistry;
+    private final ChatHistory chatHistory;
 
     @Transactional
     public EnterRoomResponse create(RoomInfoRequest request) {
@@ -60,6 +64,8 @@ public class RoomService {
         RoomSettings roomSettings = RoomSettings.of(request.getMaxPersonCount());
         Room room = new Room(roomId, roomSettings, ownerId);
         roomRepository.save(room);
+        roomMembershipCache.add(roomId, ownerId.getUserId());
+        liveRoomRegistry.register(roomId);
 
         UserDto userDto = UserDto.toDto(user);
         userDto.setPassword(request.getPassword());
@@ -87,14 +93,23 @@ public class RoomService {
         return new RoomInfoResponse(new RoomDto(room), users);
     }
 
+    /**
+     * Answered by {@link LiveRoomRegistry}, DB is read only for rooms the registry does not know
+     */
+    public boolean existsRoom(String roomId) {
+        return liveRoomRegistry.contains(RoomId.of(roomId));
+    }
+
     private List<UserDataDto> getUserList(RoomId roomId) {
         return userRepository.findByRoomId(roomId).stream().map(UserDataDto::toDto).collect(Collectors.toList());
     }
 
-    @Transactional
     public List<String> getUsersId(RoomIdRequest request) {
-        return userRepository.findByRoomId(RoomId.of(request.getRoomId())).stream()
-                .map(UserDataDto::toDto).map(UserDataDto::getUserId).collect(Collectors.toList());
+        return roomMembershipCache.getUserIds(RoomId.of(request.getRoomId()));
+    }
+
+    public boolean isMember(String roomId, String userId) {
+        return roomMembershipCache.contains(RoomId.of(roomId), userId);
     }
 
     @Transactional
@@ -102,6 +117,9 @@ public class RoomService {
         RoomId roomId = RoomId.of(request.getRoomId());
         Room room = roomRepository.findById(roomId).orElseThrow(() -> new NotExistException("Request Room name does not exist"));
         roomRepository.delete(room);
+        roomMembershipCache.evict(roomId);
+        liveRoomRegistry.unregister(roomId);
+        chatHistory.remove(roomId.getId());
     }
 
     @Transactional
@@ -118,6 +136,7 @@ public class RoomService {
             throw new MaxCountException("No left seat in the room");
         }
         GameUser user = userRepository.createUser(username, password, roomId, encoder);
+        roomMembershipCache.add(roomId, user.getUserId().getUserId());
 
         UserDto userDto = UserDto.toDto(user);
         userDto.setPassword(request.getPassword());
@@ -138,6 +157,7 @@ public class RoomService {
 
         GameUser user = userRepository.findByUserIdAndRoomId(userId, roomId).orElseThrow(() -> new NotExistException("No user in the room"));
         userRepository.delete(user);
+        roomMembershipCache.remove(roomId, userId.getUserId());
 
         Room room = roomRepository.findById(roomId).orElseThrow(() -> new NotExistException("No room exists"));
         List<UserDataDto> users = userRepository.findByRoomId(roomId).stream().map(UserDataDto::toDto).collect(Collectors.toList());
@@ -1,5 +1,6 @@
 package com.game.liar.security;
 
+import com.game.liar.room.domain.Authority;
 import com.game.liar.room.domain.Room;
 import com.game.liar.room.dto.UserDto;
 import com.game.liar.security.domain.TokenProvider;
@@ -7,19 +8,24 @@ import com.game.liar.security.dto.TokenDto;
 import com.game.liar.security.dto.TokenRequestDto;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Service;
 
+import java.util.Collections;
+
 @Service
 @RequiredArgsConstructor
 public class JwtService {
     private final TokenProvider tokenProvider;
-    private final AuthenticationManagerBuilder authenticationManagerBuilder;
 
+    /**
+     * Token of the user just created in the room. The credential was issued in the same request,
+     * so the token is minted directly instead of authenticating the user again(user lookup + password hash check).
+     */
     private TokenDto generateToken(Room room, UserDto user) {
-        UsernamePasswordAuthenticationToken authenticationToken = user.toAuthentication(room.getId());
-        Authentication authentication = authenticationManagerBuilder.getObject().authenticate(authenticationToken);
+        Authentication authentication = new UsernamePasswordAuthenticationToken(room.getId().getId() + user.getUserId(), null,
+                Collections.singletonList(new SimpleGrantedAuthority(Authority.ROLE_USER.name())));
         return tokenProvider.generateTokenDto(authentication);
     }
 
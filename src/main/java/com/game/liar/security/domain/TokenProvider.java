@@ -1,6 +1,7 @@
 package com.game.liar.security.domain;
 
 import com.game.liar.security.dto.TokenDto;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
@@ -28,12 +29,24 @@ public class TokenProvider {
     private static final long ACCESS_TOKEN_EXPIRE_TIME = 1000 * 60 * 30;   // 30분
     private static final long REFRESH_TOKEN_EXPIRE_TIME = 1000 * 60 * 30;  // 30분
 
+    private static final int VERIFIED_TOKEN_CACHE_SIZE = 10000;
+
     private final Key key;
+    private final JwtParser jwtParser;
+    private final VerifiedTokenCache verifiedTokenCache;
+
+    public TokenProvider(String secretKey) {
+        this(secretKey, VERIFIED_TOKEN_CACHE_SIZE);
+    }
 
-    public TokenProvider(@Value("${jwt.secret}") String secretKey) {
+    @Autowired
+    public TokenProvider(@Value("${jwt.secret}") String secretKey, @Value("${jwt.verified-cache-size:" + VERIFIED_TOKEN_CACHE_SIZE + "}") int verifiedCacheSize) {
         byte[] keyBytes = Decoders.BASE64.decode(secretKey);
         this.key = Keys.hmacShaKeyFor(keyBytes);
+        this.jwtParser = Jwts.parserBuilder().setSigningKey(key).build();
+        this.verifiedTokenCache = new VerifiedTokenCache(verifiedCacheSize);
     }
+
     public TokenDto generateTokenDto(Authentication authentication) {
         // 권한들 가져오기
         String authorities = authentication.getAuthorities().stream()
@@ -88,7 +101,7 @@ public class TokenProvider {
 
     public boolean validateToken(String token) {
         try {
-            Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
+            verifiedClaims(token);
             return true;
         } catch (io.jsonwebtoken.security.SecurityException | MalformedJwtException e) {
             log.info("The JWT is wrong signature");
@@ -104,12 +117,25 @@ public class TokenProvider {
 
     public Claims parseClaims(String token) {
         try {
-            return Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody();
+            return verifiedClaims(token);
         } catch (ExpiredJwtException e) {
             return e.getClaims();
         }
     }
 
+    /**
+     * Signature of a token is verified once, afterwards its claims are served from the cache until the token expires.
+     * Returned claims are shared, so they should not be modified.
+     */
+    private Claims verifiedClaims(String token) {
+        Claims claims = token == null ? null : verifiedTokenCache.get(token, System.currentTimeMillis());
+        if (claims != null)
+            return claims;
+        claims = jwtParser.parseClaimsJws(token).getBody();
+        verifiedTokenCache.put(token, claims);
+        return claims;
+    }
+
     public void validateTokenAndSetAuth(String jwt) {
         if (StringUtils.hasText(jwt) && validateToken(jwt)) {
             Authentication authentication = getAuthentication(jwt);
@@ -0,0 +1,99 @@
+package com.game.liar.security.domain;
+
+import io.jsonwebtoken.Claims;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Claims of tokens whose signature is already verified, until the token expires.
+ * Tokens are kept as SHA-256 digests, so live credentials do not stay in the heap in plain text.
+ * Lookups take no lock. When the cache is full, expired tokens and then the oldest verified quarter are dropped.
+ */
+class VerifiedTokenCache {
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final Object evictionLock = new Object();
+    private final int maxSize;
+
+    VerifiedTokenCache(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * @return claims of the verified token, null if it is not cached or expired
+     */
+    Claims get(String token, long now) {
+        String key = digest(token);
+        Entry entry = entries.get(key);
+        if (entry == null)
+            return null;
+        if (entry.expiresAt <= now) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry.claims;
+    }
+
+    void put(String token, Claims claims) {
+        if (claims.getExpiration() == null)
+            return;
+        if (entries.size() >= maxSize)
+            evict(System.currentTimeMillis());
+        entries.put(digest(token), new Entry(claims, claims.getExpiration().getTime(), sequence.incrementAndGet()));
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    /**
+     * A quarter is dropped at once, so eviction runs once every maxSize / 4 new tokens
+     */
+    private void evict(long now) {
+        synchronized (evictionLock) {
+            if (entries.size() < maxSize)
+                return;
+            entries.values().removeIf(entry -> entry.expiresAt <= now);
+            int excess = entries.size() - maxSize + Math.max(1, maxSize / 4);
+            if (excess <= 0)
+                return;
+            List<String> oldest = entries.entrySet().stream()
+                    .sorted(Comparator.comparingLong(entry -> entry.getValue().sequence))
+                    .limit(excess)
+                    .map(Map.Entry::getKey)
+                    .collect(Collectors.toList());
+            oldest.forEach(entries::remove);
+        }
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            //every JVM has SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static class Entry {
+        private final Claims claims;
+        private final long expiresAt;
+        private final long sequence;
+
+        private Entry(Claims claims, long expiresAt, long sequence) {
+            this.claims = claims;
+            this.expiresAt = expiresAt;
+            this.sequence = sequence;
+        }
+    }
+}
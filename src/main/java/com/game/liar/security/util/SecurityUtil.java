@@ -12,12 +12,19 @@ public class SecurityUtil {
     // SecurityContext 에 유저 정보가 저장되는 시점
     // Request 가 들어올 때 JwtFilter 의 doFilter 에서 저장
     public static String getCurrentUserId() {
+        return JwtUtil.getUserIdFromUUID(getCurrentSubject());
+    }
+
+    public static String getCurrentRoomId() {
+        return JwtUtil.getRoomIdFromUUID(getCurrentSubject());
+    }
+
+    private static String getCurrentSubject() {
         final Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
 
         if (authentication == null || authentication.getName() == null) {
             throw  new RuntimeException("There is no auth infomation in Security Context");
         }
-
-        return JwtUtil.getUserIdFromUUID(authentication.getName());
+        return authentication.getName();
     }
 }
\ No newline at end of file
@@ -0,0 +1,47 @@
+package com.game.liar.utils;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded set of keys which are forgotten after a fixed time, e.g. ids known to be missing in DB.
+ * When the set is full, expired keys are purged first and the whole set is dropped if that is not enough.
+ */
+public class ExpiringKeySet<K> {
+    private final Map<K, Long> expiresAt = new ConcurrentHashMap<>();
+    private final long ttlMillis;
+    private final int maxSize;
+
+    public ExpiringKeySet(long ttlMillis, int maxSize) {
+        this.ttlMillis = ttlMillis;
+        this.maxSize = maxSize;
+    }
+
+    public boolean contains(K key) {
+        Long expiry = expiresAt.get(key);
+        if (expiry == null)
+            return false;
+        if (expiry > System.currentTimeMillis())
+            return true;
+        expiresAt.remove(key, expiry);
+        return false;
+    }
+
+    public void add(K key) {
+        long now = System.currentTimeMillis();
+        if (expiresAt.size() >= maxSize) {
+            expiresAt.values().removeIf(expiry -> expiry <= now);
+            if (expiresAt.size() >= maxSize)
+                expiresAt.clear();
+        }
+        expiresAt.put(key, now + ttlMillis);
+    }
+
+    public void remove(K key) {
+        expiresAt.remove(key);
+    }
+
+    public void clear() {
+        expiresAt.clear();
+    }
+}
@@ -0,0 +1,125 @@
+package com.game.liar.utils;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+/**
+ * Runs tasks of the same key one by one in submitted order, tasks of different keys in parallel on the shared executor.
+ * Each key has a mailbox which exists only while it has pending tasks.
+ */
+@Slf4j
+public class KeyedSerialExecutor<K> {
+    private static final int MAX_TASKS_PER_RUN = 32;
+
+    private final Executor executor;
+    private final ConcurrentHashMap<K, Mailbox> mailboxes = new ConcurrentHashMap<>();
+
+    public KeyedSerialExecutor(Executor executor) {
+        this.executor = executor;
+    }
+
+    public void execute(K key, Runnable task) {
+        boolean[] scheduled = new boolean[1];
+        Mailbox mailbox = mailboxes.compute(key, (k, current) -> {
+            if (current == null)
+                current = new Mailbox(k);
+            current.tasks.add(task);
+            if (!current.running) {
+                current.running = true;
+                scheduled[0] = true;
+            }
+            return current;
+        });
+        if (scheduled[0])
+            schedule(mailbox);
+    }
+
+    public <T> CompletableFuture<T> submit(K key, Supplier<T> task) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        execute(key, () -> {
+            try {
+                future.complete(task.get());
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * @return the number of keys which have pending or running tasks
+     */
+    public int activeKeys() {
+        return mailboxes.size();
+    }
+
+    private void schedule(Mailbox mailbox) {
+        try {
+            executor.execute(mailbox);
+        } catch (RuntimeException e) {
+            mailboxes.computeIfPresent(mailbox.key, (k, current) -> current == mailbox ? null : current);
+            throw e;
+        }
+    }
+
+    private Runnable next(Mailbox mailbox) {
+        Runnable[] next = new Runnable[1];
+        mailboxes.computeIfPresent(mailbox.key, (k, current) -> {
+            if (current != mailbox) return current;
+            next[0] = current.tasks.poll();
+            if (next[0] == null) {
+                current.running = false;
+                return null;
+            }
+            return current;
+        });
+        return next[0];
+    }
+
+    private boolean hasNext(Mailbox mailbox) {
+        boolean[] hasNext = new boolean[1];
+        mailboxes.computeIfPresent(mailbox.key, (k, current) -> {
+            if (current != mailbox) return current;
+            hasNext[0] = !current.tasks.isEmpty();
+            if (!hasNext[0]) {
+                current.running = false;
+                return null;
+            }
+            return current;
+        });
+        return hasNext[0];
+    }
+
+    private class Mailbox implements Runnable {
+        private final K key;
+        //guarded by the map entry of the key
+        private final Queue<Runnable> tasks = new ArrayDeque<>();
+        private boolean running;
+
+        private Mailbox(K key) {
+            this.key = key;
+        }
+
+        @Override
+        public void run() {
+            for (int i = 0; i < MAX_TASKS_PER_RUN; ++i) {
+                Runnable task = next(this);
+                if (task == null) return;
+                try {
+                    task.run();
+                } catch (Throwable t) {
+                    log.error("task of [key:{}] failed", key, t);
+                }
+            }
+            //다른 key에도 기회를 주기 위해 남은 task는 다시 스케줄한다
+            if (hasNext(this))
+                schedule(this);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.game.liar.utils;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.module.afterburner.AfterburnerModule;
+import com.game.liar.game.dto.MessageContainer;
+import lombok.Getter;
+import org.springframework.stereotype.Component;
+
+/**
+ * Single JSON mapper of the game messaging path(STOMP payloads and AMQP messages).
+ * Reader and writer are thread safe and keep their (de)serializer caches, so they are shared instead of created per message.
+ * Not registered as ObjectMapper bean on purpose, to leave the MVC mapper of Spring Boot as it is.
+ */
+@Component
+public class MessageJsonMapper {
+    @Getter
+    private final ObjectMapper objectMapper;
+    private final ObjectReader messageReader;
+    private final ObjectWriter writer;
+
+    public MessageJsonMapper() {
+        objectMapper = new ObjectMapper()
+                .configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, true)
+                .registerModule(new AfterburnerModule());
+        messageReader = objectMapper.readerFor(MessageContainer.class);
+        writer = objectMapper.writer();
+    }
+
+    public MessageContainer readMessage(String json) throws JsonProcessingException {
+        return messageReader.readValue(json);
+    }
+
+    public String writeValueAsString(Object value) throws JsonProcessingException {
+        return writer.writeValueAsString(value);
+    }
+}
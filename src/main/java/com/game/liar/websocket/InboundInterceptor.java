@@ -1,13 +1,12 @@
 package com.game.liar.websocket;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.game.liar.exception.NotAllowedActionException;
 import com.game.liar.exception.NotExistException;
 import com.game.liar.game.domain.Global;
 import com.game.liar.game.service.MessageService;
+import com.game.liar.messagequeue.codec.ConnectionCodecRegistry;
+import com.game.liar.messagequeue.codec.MessageCodecs;
 import com.game.liar.security.domain.TokenProvider;
-import io.jsonwebtoken.Claims;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.ApplicationEventPublisher;
@@ -15,6 +14,7 @@ import org.springframework.messaging.Message;
 import org.springframework.messaging.MessageChannel;
 import org.springframework.messaging.simp.stomp.StompCommand;
 import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
 import org.springframework.messaging.support.ChannelInterceptor;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
@@ -28,29 +28,36 @@ import static com.game.liar.security.util.JwtUtil.getUserIdFromUUID;
 public class InboundInterceptor implements ChannelInterceptor {
     private static final String AUTHORIZATION_HEADER = "Authorization";
     private static final String BEARER_PREFIX = "Bearer";
+    private static final String CONTENT_TYPE_HEADER = "content-type";
 
     private final TokenProvider tokenProvider;
     private final ApplicationEventPublisher publisher;
 
     private final MessageService messageService;
+    private final MessageCodecs messageCodecs;
+    private final ConnectionCodecRegistry connectionCodecRegistry;
 
     @Override
     public Message<?> preSend(Message<?> message, MessageChannel channel) {
-        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(message);
-        if (StompCommand.SUBSCRIBE.equals(accessor.getCommand())) {
-            String token = verifyJwt(accessor);
-            Claims claims = tokenProvider.parseClaims(token);
-            String subject = claims.getSubject();
-            String roomId = getRoomIdFromUUID(subject);
-            String userId = getUserIdFromUUID(subject);
-
-            String destination = accessor.getNativeHeader("destination").get(0);
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null)
+            accessor = StompHeaderAccessor.wrap(message);
+        if (StompCommand.CONNECT.equals(accessor.getCommand())) {
+            bindPrincipal(accessor);
+        } else if (StompCommand.SUBSCRIBE.equals(accessor.getCommand())) {
+            StompPrincipal principal = StompPrincipal.of(message);
+            if (principal == null)
+                throw new NotAllowedActionException("Subscribe is allowed after CONNECT");
+
+            String destination = accessor.getDestination();
+            if (destination == null)
+                throw new NotExistException("No destination header");
             if (destination.contains("public") || destination.contains("room")) {
-                if (!destination.contains(roomId)) {
+                if (!destination.contains(principal.getRoomId())) {
                     throw new NotAllowedActionException("You can listen only your room");
                 }
             } else if (destination.contains("private")) {
-                if (!destination.contains(userId)) {
+                if (!destination.contains(principal.getUserId())) {
                     throw new NotAllowedActionException("You can listen only your id");
                 }
             }
@@ -59,39 +66,41 @@ public class InboundInterceptor implements ChannelInterceptor {
         return ChannelInterceptor.super.preSend(message, channel);
     }
 
+    /**
+     * The only frame whose JWT is verified. Room and user of the token are bound to the session,
+     * and sent as user of every following frame of the session.
+     */
+    private void bindPrincipal(StompHeaderAccessor accessor) {
+        String jwt = resolveToken(accessor);
+        if (!tokenProvider.validateToken(jwt))
+            throw new NotAllowedActionException("JWT is not valid");
+        String subject = tokenProvider.parseClaims(jwt).getSubject();
+        StompPrincipal principal = new StompPrincipal(getRoomIdFromUUID(subject), getUserIdFromUUID(subject));
+        accessor.setUser(principal);
+        if (accessor.getSessionAttributes() != null)
+            accessor.getSessionAttributes().put(StompPrincipal.SESSION_ATTRIBUTE, principal);
+    }
+
     @Override
     public void postSend(Message<?> message, MessageChannel channel, boolean sent) {
         StompHeaderAccessor accessor = StompHeaderAccessor.wrap(message);
         if (StompCommand.CONNECT.equals(accessor.getCommand())) {
-            checkTokenAndSendLoginMessage(channel, accessor, "login");
+            checkTokenAndSendLoginMessage(message, accessor, "login");
         } else if (StompCommand.DISCONNECT.equals(accessor.getCommand())) {
-            checkTokenAndSendLoginMessage(channel, accessor, "logout");
+            checkTokenAndSendLoginMessage(message, accessor, "logout");
         }
         ChannelInterceptor.super.postSend(message, channel, sent);
     }
 
-    private void checkTokenAndSendLoginMessage(MessageChannel channel, StompHeaderAccessor accessor, String login) {
+    private void checkTokenAndSendLoginMessage(Message<?> message, StompHeaderAccessor accessor, String login) {
         if (login.equals("login")) {
-            String jwt = verifyJwt(accessor);
-            Claims claims = tokenProvider.parseClaims(jwt);
-            String subject = claims.getSubject();
-            String roomId = getRoomIdFromUUID(subject);
-            String userId = getUserIdFromUUID(subject);
+            StompPrincipal principal = StompPrincipal.of(message);
+            if (principal == null) return;
+            String roomId = principal.getRoomId();
+            String userId = principal.getUserId();
 
-            try {
-                ObjectMapper objectMapper = new ObjectMapper();
-                Global.LoginInfo loginInfo = new Global.LoginInfo(roomId, userId, true);
-                String msgJson = objectMapper.writeValueAsString(loginInfo);
-//                StompHeaderAccessor loginAccessor = StompHeaderAccessor.create(StompCommand.SEND);
-//                loginAccessor.setMessage(msgJson);
-//                loginAccessor.setSessionId(accessor.getSessionId());
-//                loginAccessor.setSessionAttributes(accessor.getSessionAttributes());
-//                loginAccessor.setDestination(String.format("/topic/room.%s.%s", roomId, login));
-                //channel.send(MessageBuilder.createMessage(msgJson.getBytes(StandardCharsets.UTF_8), loginAccessor.getMessageHeaders()));
-                messageService.sendLoginInfoMessage(roomId, loginInfo);
-            } catch (JsonProcessingException e) {
-                throw new RuntimeException(e);
-            }
+            connectionCodecRegistry.register(accessor.getSessionId(), roomId, userId, messageCodecs.forContentType(accessor.getFirstNativeHeader(CONTENT_TYPE_HEADER)));
+            messageService.sendLoginInfoMessage(roomId, new Global.LoginInfo(roomId, userId, true));
 
             WebsocketConnectedEvent event = new WebsocketConnectedEvent(this, roomId, userId, accessor.getSessionId());
             publisher.publishEvent(event);
@@ -101,13 +110,6 @@ public class InboundInterceptor implements ChannelInterceptor {
         }
     }
 
-    private String verifyJwt(StompHeaderAccessor accessor) {
-        String jwt = resolveToken(accessor);
-        tokenProvider.validateTokenAndSetAuth(jwt);
-
-        return jwt;
-    }
-
     private String resolveToken(StompHeaderAccessor accessor) {
         if (accessor.getNativeHeader(AUTHORIZATION_HEADER) == null)
             throw new NotExistException("No JWT header");
@@ -0,0 +1,45 @@
+package com.game.liar.websocket;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+
+import java.security.Principal;
+import java.util.Map;
+
+/**
+ * Identity of a STOMP session, resolved from the JWT once on CONNECT.
+ * Following frames of the session carry it, so they are not authenticated again.
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+public final class StompPrincipal implements Principal {
+    public static final String SESSION_ATTRIBUTE = "stompPrincipal";
+
+    private final String roomId;
+    private final String userId;
+
+    public StompPrincipal(String roomId, String userId) {
+        this.roomId = roomId;
+        this.userId = userId;
+    }
+
+    @Override
+    public String getName() {
+        return userId;
+    }
+
+    /**
+     * @return principal bound to the session of the message, null if the session did not CONNECT
+     */
+    public static StompPrincipal of(Message<?> message) {
+        Principal user = SimpMessageHeaderAccessor.getUser(message.getHeaders());
+        if (user instanceof StompPrincipal)
+            return (StompPrincipal) user;
+        Map<String, Object> attributes = SimpMessageHeaderAccessor.getSessionAttributes(message.getHeaders());
+        return attributes == null ? null : (StompPrincipal) attributes.get(SESSION_ATTRIBUTE);
+    }
+}
@@ -0,0 +1,46 @@
+package com.game.liar.websocket.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Executors of clientInboundChannel and clientOutboundChannel
+ */
+@Component
+@ConfigurationProperties(prefix = "messaging.channel")
+@Getter
+public class ChannelExecutorProperties {
+    private final Pool inbound = new Pool();
+    private final Pool outbound = new Pool();
+
+    @Getter
+    @Setter
+    public static class Pool {
+        /**
+         * 0 means twice the number of cores
+         */
+        private int poolSize = 0;
+        /**
+         * Messages waiting in the channel. Further messages are handled by the overload policy
+         */
+        private int queueCapacity = 10000;
+        private OverloadPolicy overloadPolicy = OverloadPolicy.REJECT;
+
+        public int threads() {
+            return poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors() * 2;
+        }
+    }
+
+    public enum OverloadPolicy {
+        /**
+         * fail the send, the client gets an ERROR frame
+         */
+        REJECT,
+        /**
+         * drop the message and count it
+         */
+        SHED
+    }
+}
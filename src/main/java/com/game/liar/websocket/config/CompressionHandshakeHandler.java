@@ -0,0 +1,33 @@
+package com.game.liar.websocket.config;
+
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.web.socket.WebSocketExtension;
+import org.springframework.web.socket.server.support.DefaultHandshakeHandler;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Handshake which accepts or drops permessage-deflate offered by the client.
+ * The container (Tomcat) compresses frames once the extension is negotiated.
+ */
+public class CompressionHandshakeHandler extends DefaultHandshakeHandler {
+    private static final String PERMESSAGE_DEFLATE = "permessage-deflate";
+
+    private final boolean compression;
+
+    public CompressionHandshakeHandler(boolean compression) {
+        this.compression = compression;
+    }
+
+    @Override
+    protected List<WebSocketExtension> filterRequestedExtensions(ServerHttpRequest request, List<WebSocketExtension> requestedExtensions,
+                                                                 List<WebSocketExtension> supportedExtensions) {
+        List<WebSocketExtension> extensions = super.filterRequestedExtensions(request, requestedExtensions, supportedExtensions);
+        if (compression)
+            return extensions;
+        return extensions.stream()
+                .filter(extension -> !PERMESSAGE_DEFLATE.equalsIgnoreCase(extension.getName()))
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,114 @@
+package com.game.liar.websocket.config;
+
+import com.game.liar.utils.KeyedSerialExecutor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageHandlingRunnable;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Channel executor which handles messages of the same key(room or session) one by one in arrival order.
+ * Messages of different keys share the pool. Pending messages are bounded, the rest is rejected or shed.
+ * CONNECTED and ERROR frames are never shed or rejected, the client could not tell the connection state without them.
+ */
+@Slf4j
+public class KeyedChannelExecutor extends ThreadPoolTaskExecutor {
+    private final String channel;
+    private final Function<Message<?>, String> keyOf;
+    private final int queueCapacity;
+    private final ChannelExecutorProperties.OverloadPolicy overloadPolicy;
+    private final KeyedSerialExecutor<String> keyedExecutor = new KeyedSerialExecutor<>(super::execute);
+    private final AtomicInteger pending = new AtomicInteger();
+    private final Counter overloaded;
+
+    public KeyedChannelExecutor(String channel, ChannelExecutorProperties.Pool pool, Function<Message<?>, String> keyOf, MeterRegistry meterRegistry) {
+        this.channel = channel;
+        this.keyOf = keyOf;
+        this.queueCapacity = pool.getQueueCapacity();
+        this.overloadPolicy = pool.getOverloadPolicy();
+        //pool queue holds at most one task per key, the bound is applied to pending messages
+        setCorePoolSize(pool.threads());
+        setMaxPoolSize(pool.threads());
+        setThreadNamePrefix(channel + "-");
+
+        Gauge.builder("messaging.channel.pending", pending, AtomicInteger::get)
+                .tag("channel", channel)
+                .register(meterRegistry);
+        Gauge.builder("messaging.channel.active.keys", keyedExecutor, KeyedSerialExecutor::activeKeys)
+                .tag("channel", channel)
+                .register(meterRegistry);
+        overloaded = Counter.builder("messaging.channel.overloaded")
+                .tag("channel", channel)
+                .tag("policy", overloadPolicy.name().toLowerCase())
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        Message<?> message = messageOf(task);
+        String key = message == null ? null : keyOf.apply(message);
+        //control frames are let through over capacity, the client can not tell the connection state without them
+        if (pending.incrementAndGet() > queueCapacity && !isControlFrame(message)) {
+            pending.decrementAndGet();
+            overloaded.increment();
+            if (overloadPolicy == ChannelExecutorProperties.OverloadPolicy.SHED) {
+                log.warn("[{}] overloaded, message of key [{}] is dropped", channel, key);
+                return;
+            }
+            throw new TaskRejectedException(String.format("%s is overloaded. pending messages exceed %d", channel, queueCapacity));
+        }
+        Runnable counted = () -> {
+            try {
+                task.run();
+            } finally {
+                pending.decrementAndGet();
+            }
+        };
+        try {
+            if (key == null)
+                super.execute(counted);
+            else
+                keyedExecutor.execute(key, counted);
+        } catch (RuntimeException e) {
+            pending.decrementAndGet();
+            throw e;
+        }
+    }
+
+    /**
+     * @return null if the task carries no message, then it is not ordered with the others
+     */
+    private Message<?> messageOf(Runnable task) {
+        if (task instanceof MessageHandlingRunnable)
+            return ((MessageHandlingRunnable) task).getMessage();
+        return null;
+    }
+
+    /**
+     * CONNECTED, ERROR frames of the STOMP relay and connect/disconnect acks of the simple broker
+     */
+    private boolean isControlFrame(Message<?> message) {
+        if (message == null)
+            return false;
+        SimpMessageType messageType = SimpMessageHeaderAccessor.getMessageType(message.getHeaders());
+        if (messageType == SimpMessageType.CONNECT_ACK || messageType == SimpMessageType.DISCONNECT_ACK)
+            return true;
+        StompCommand command = StompHeaderAccessor.wrap(message).getCommand();
+        return command == StompCommand.CONNECTED || command == StompCommand.ERROR;
+    }
+
+    public int getPendingCount() {
+        return pending.get();
+    }
+}
@@ -2,15 +2,19 @@ package com.game.liar.websocket.config;
 
 import com.game.liar.exception.StompErrorHandler;
 import com.game.liar.websocket.InboundInterceptor;
+import com.game.liar.websocket.StompPrincipal;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
 import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.util.AntPathMatcher;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
 
 //https://tecoble.techcourse.co.kr/post/2021-09-05-web-socket-practice/
 
@@ -19,26 +23,38 @@ import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerCo
 @RequiredArgsConstructor
 public class StompConfig implements WebSocketMessageBrokerConfigurer {
     private final String ENDPOINT = "/ws-connection";
+    private final String NATIVE_ENDPOINT = "/ws-native";
     private final String CORS_PATTERN = "*";
+    private static final String SIMPLE_BROKER = "simple";
     private final StompErrorHandler stompErrorHandler;
     private final InboundInterceptor channelInboundInterceptor;
+    private final WebsocketTransportProperties transportProperties;
+    private final ChannelExecutorProperties channelExecutorProperties;
+    private final MeterRegistry meterRegistry;
 
-    @Value("${rabbitmq.host}")
+    @Value("${messaging.broker:relay}")
+    private String broker;
+    @Value("${rabbitmq.host:localhost}")
     private String host;
-    @Value("${rabbitmq.username}")
+    @Value("${rabbitmq.username:guest}")
     private String username;
-    @Value("${rabbitmq.password}")
+    @Value("${rabbitmq.password:guest}")
     private String password;
 
     /**
-     * TODO: 다른 메세지브로커 사용할 수도 있음
-     * memory 기반 simple message broker
+     * relay: RabbitMQ STOMP relay, messages reach the clients of every node
+     * simple: memory 기반 simple message broker, single node only
+     * Both accept the same destinations, so clients do not know which broker is used.
      **/
     @Override
     public void configureMessageBroker(MessageBrokerRegistry registry) {
         registry.setPathMatcher(new AntPathMatcher("."));
         registry.setApplicationDestinationPrefixes("/publish");
 
+        if (SIMPLE_BROKER.equals(broker)) {
+            registry.enableSimpleBroker("/queue", "/topic", "/exchange", "/amq/queue");
+            return;
+        }
         registry.enableStompBrokerRelay("/queue", "/topic", "/exchange", "/amq/queue")
                 .setRelayHost(host)
                 .setRelayPort(61613)
@@ -48,16 +64,48 @@ public class StompConfig implements WebSocketMessageBrokerConfigurer {
                 .setClientPasscode(password);
     }
 
+    /**
+     * SockJS endpoint for browsers without websocket, and a raw websocket endpoint without SockJS framing
+     */
     @Override
     public void registerStompEndpoints(StompEndpointRegistry registry) {
+        CompressionHandshakeHandler handshakeHandler = new CompressionHandshakeHandler(transportProperties.isCompression());
         registry.addEndpoint(ENDPOINT)
+                .setHandshakeHandler(handshakeHandler)
                 .setAllowedOriginPatterns(CORS_PATTERN)
                 .withSockJS();
+        registry.addEndpoint(NATIVE_ENDPOINT)
+                .setHandshakeHandler(handshakeHandler)
+                .setAllowedOriginPatterns(CORS_PATTERN);
         registry.setErrorHandler(stompErrorHandler);
     }
 
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        registration.setMessageSizeLimit(transportProperties.getMessageSizeLimit())
+                .setSendBufferSizeLimit(transportProperties.getSendBufferSizeLimit())
+                .setSendTimeLimit(transportProperties.getSendTimeLimit())
+                .setTimeToFirstMessage(transportProperties.getTimeToFirstMessage());
+    }
+
+    /**
+     * Messages of a room are handled in arrival order, messages of a session before CONNECT is bound are ordered by session
+     */
     @Override
     public void configureClientInboundChannel(ChannelRegistration registration) {
-        registration.interceptors(channelInboundInterceptor);
+        registration.interceptors(channelInboundInterceptor)
+                .taskExecutor(new KeyedChannelExecutor("clientInboundChannel", channelExecutorProperties.getInbound(), message -> {
+                    StompPrincipal principal = StompPrincipal.of(message);
+                    return principal != null ? principal.getRoomId() : SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+                }, meterRegistry));
+    }
+
+    /**
+     * Messages to a session are sent in publish order
+     */
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        registration.taskExecutor(new KeyedChannelExecutor("clientOutboundChannel", channelExecutorProperties.getOutbound(),
+                message -> SimpMessageHeaderAccessor.getSessionId(message.getHeaders()), meterRegistry));
     }
 }
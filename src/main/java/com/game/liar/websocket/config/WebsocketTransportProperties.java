@@ -0,0 +1,24 @@
+package com.game.liar.websocket.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Limits of websocket sessions, applied to both of the SockJS and the native endpoint
+ */
+@Component
+@ConfigurationProperties(prefix = "messaging.websocket")
+@Getter
+@Setter
+public class WebsocketTransportProperties {
+    /**
+     * Negotiate permessage-deflate when the client offers it
+     */
+    private boolean compression = true;
+    private int messageSizeLimit = 64 * 1024;
+    private int sendBufferSizeLimit = 512 * 1024;
+    private int sendTimeLimit = 10 * 1000;
+    private int timeToFirstMessage = 30 * 1000;
+}
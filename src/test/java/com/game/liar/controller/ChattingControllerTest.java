@@ -3,12 +3,12 @@ package com.game.liar.controller;
 import com.game.liar.Util;
 import com.game.liar.chat.domain.ChatMessageDto;
 import com.game.liar.chat.repository.ChatRepository;
+import com.game.liar.chat.service.ChatMessageWriter;
 import com.game.liar.game.domain.Global;
 import com.game.liar.room.domain.Room;
 import com.game.liar.room.domain.RoomId;
 import com.game.liar.room.repository.RoomRepository;
 import org.junit.jupiter.api.BeforeEach;
-import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -27,8 +27,7 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 @AutoConfigureMockMvc
-@ActiveProfiles("test")
-@Disabled("error in rabbitmq connection")
+@ActiveProfiles({"test", "embedded-broker"})
 class ChattingControllerTest {
 
     @LocalServerPort
@@ -36,6 +35,8 @@ class ChattingControllerTest {
     @Autowired
     ChatRepository chatRepository;
     @Autowired
+    ChatMessageWriter chatMessageWriter;
+    @Autowired
     RoomRepository roomRepository;
     @Autowired
     private MockMvc mockMvc;
@@ -62,6 +63,7 @@ class ChattingControllerTest {
 
         assertThat(message).isNotNull();
         assertThat(message).isEqualTo(expectedMessage);
+        chatMessageWriter.flush();
         System.out.println(chatRepository.findAll());
         assertThat(chatRepository.findAll().size()).isEqualTo(1);
     }
@@ -82,6 +84,7 @@ class ChattingControllerTest {
 
         //then
         assertThrows(TimeoutException.class, () -> handler.getCompletableFuture().get(3, SECONDS));
+        chatMessageWriter.flush();
         System.out.println(chatRepository.findAll());
         assertThat(chatRepository.findAll().size()).isEqualTo(0);
     }
@@ -22,21 +22,18 @@ import com.game.liar.room.dto.EnterRoomResponse;
 import com.game.liar.room.dto.UserDataDto;
 import com.game.liar.user.domain.UserId;
 import com.game.liar.utils.BeanUtils;
-import com.game.liar.websocket.InboundInterceptor;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
-import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
-import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.boot.test.web.server.LocalServerPort;
 import org.springframework.messaging.simp.stomp.StompFrameHandler;
 import org.springframework.messaging.simp.stomp.StompHeaders;
 import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.web.socket.messaging.WebSocketStompClient;
 
@@ -54,13 +51,14 @@ import static com.game.liar.game.domain.Global.*;
 import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
-import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.when;
 
+/**
+ * Game flow over real STOMP sessions with the in process broker. Each session sends CONNECT with the token of
+ * {@code createRoom}/{@code enterRoom}, so the game path runs with the principal bound by the real inbound interceptor.
+ */
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 @AutoConfigureMockMvc
-@ExtendWith(MockitoExtension.class)
-@Disabled("error in rabbitmq connection")
+@ActiveProfiles("embedded-broker")
 class GameControllerIT {
     @LocalServerPort
     private Integer port;
@@ -76,8 +74,6 @@ class GameControllerIT {
     private MockMvc mockMvc;
     @Autowired
     GameCategoryProperties gameCategoryProperties;
-    @MockBean
-    private InboundInterceptor inboundInterceptor;
 
     WebSocketStompClient stompClient;
     StompSession stompSession;
@@ -104,7 +100,6 @@ class GameControllerIT {
     void init() {
         objectMapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
         TimeoutManager.setTimeout(7000);
-        when(inboundInterceptor.preSend(any(), any())).thenAnswer(i -> i.getArguments()[0]);
 
         try {
             String roomId = 방생성("roomOwner");
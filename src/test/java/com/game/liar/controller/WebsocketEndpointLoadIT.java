@@ -0,0 +1,230 @@
+package com.game.liar.controller;
+
+import com.game.liar.game.domain.Global;
+import com.game.liar.game.dto.MessageContainer;
+import com.game.liar.room.dto.EnterRoomResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.socket.WebSocketExtension;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+import org.springframework.web.socket.sockjs.client.SockJsClient;
+import org.springframework.web.socket.sockjs.client.WebSocketTransport;
+
+import java.io.*;
+import java.lang.reflect.Type;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.game.liar.Util.createRoom;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Messages per second and bytes on the wire per message of the SockJS endpoint and of the native websocket endpoint,
+ * with and without permessage-deflate. Clients connect through a TCP proxy which counts the bytes sent by the server,
+ * so the numbers include websocket framing and compression.
+ * Runs with the in process broker, so the numbers do not include the network to RabbitMQ.
+ * Tagged as load test, it runs with {@code ./gradlew loadTest} and not with the normal test task.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+@ActiveProfiles("embedded-broker")
+class WebsocketEndpointLoadIT {
+    private static final Logger log = LoggerFactory.getLogger(WebsocketEndpointLoadIT.class);
+    private static final int MESSAGES = 2000;
+
+    @LocalServerPort
+    private Integer port;
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @DisplayName("SockJS endpoint와 native websocket endpoint의 처리량과 전송 byte를 비교한다")
+    void compareEndpoints() throws Exception {
+        Result sockJs = run("/ws-connection", false, true);
+        Result nativeWs = run("/ws-native", false, false);
+        Result deflate = run("/ws-native", true, false);
+
+        log.info("[sockjs] {}", sockJs);
+        log.info("[native] {}", nativeWs);
+        log.info("[native+deflate] {}", deflate);
+        assertThat(nativeWs.bytesPerMessage()).isLessThan(sockJs.bytesPerMessage());
+        assertThat(deflate.bytesPerMessage()).isLessThan(nativeWs.bytesPerMessage());
+    }
+
+    private Result run(String endpoint, boolean compression, boolean sockJs) throws Exception {
+        EnterRoomResponse roomInfo = createRoom(mockMvc);
+        String roomId = roomInfo.getRoom().getRoomId();
+        String userId = roomInfo.getUser().getUserId();
+
+        try (CountingProxy proxy = new CountingProxy(port)) {
+            StandardWebSocketClient client = new StandardWebSocketClient();
+            WebSocketStompClient stompClient = sockJs
+                    ? new WebSocketStompClient(new SockJsClient(Collections.singletonList(new WebSocketTransport(client))))
+                    : new WebSocketStompClient(client);
+            stompClient.setMessageConverter(new MappingJackson2MessageConverter());
+
+            WebSocketHttpHeaders headers = new WebSocketHttpHeaders();
+            if (compression)
+                headers.setSecWebSocketExtensions(Collections.singletonList(new WebSocketExtension("permessage-deflate")));
+            StompHeaders connectHeaders = new StompHeaders();
+            connectHeaders.add("Authorization", "Bearer " + roomInfo.getToken().getAccessToken());
+            StompSession session = stompClient.connect("ws://localhost:" + proxy.getPort() + endpoint, headers, connectHeaders, new StompSessionHandlerAdapter() {
+            }).get(5, SECONDS);
+
+            CountDownLatch received = new CountDownLatch(MESSAGES);
+            session.subscribe(String.format("/exchange/message.direct/room.%s.user.%s", roomId, userId), new StompFrameHandler() {
+                @Override
+                public Type getPayloadType(StompHeaders headers) {
+                    return MessageContainer.class;
+                }
+
+                @Override
+                public void handleFrame(StompHeaders headers, Object payload) {
+                    received.countDown();
+                }
+            });
+            Thread.sleep(500);
+            proxy.reset();
+
+            long start = System.nanoTime();
+            for (int i = 0; i < MESSAGES; ++i) {
+                session.send("/publish/private." + roomId, MessageContainer.messageContainerBuilder()
+                        .senderId(userId)
+                        .uuid(UUID.randomUUID().toString())
+                        .message(new MessageContainer.Message(Global.GET_GATE_STATE, null))
+                        .build());
+            }
+            assertThat(received.await(60, SECONDS)).isTrue();
+            long elapsed = System.nanoTime() - start;
+            long receivedBytes = proxy.getReceivedBytes();
+            session.disconnect();
+            stompClient.stop();
+            return new Result(MESSAGES, elapsed, receivedBytes);
+        }
+    }
+
+    private static class Result {
+        private final int messages;
+        private final long elapsedNanos;
+        private final long receivedBytes;
+
+        Result(int messages, long elapsedNanos, long receivedBytes) {
+            this.messages = messages;
+            this.elapsedNanos = elapsedNanos;
+            this.receivedBytes = receivedBytes;
+        }
+
+        double messagesPerSecond() {
+            return messages * 1_000_000_000.0 / elapsedNanos;
+        }
+
+        double bytesPerMessage() {
+            return (double) receivedBytes / messages;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%.1f msg/s, %.1f bytes/msg", messagesPerSecond(), bytesPerMessage());
+        }
+    }
+
+    /**
+     * Forwards TCP connections to the server and counts the bytes sent from the server to the client
+     */
+    private static class CountingProxy implements AutoCloseable {
+        private final ServerSocket serverSocket;
+        private final int targetPort;
+        private final AtomicLong receivedBytes = new AtomicLong();
+        private final List<Socket> sockets = new CopyOnWriteArrayList<>();
+        private final ExecutorService executor = Executors.newCachedThreadPool();
+
+        CountingProxy(int targetPort) throws IOException {
+            this.serverSocket = new ServerSocket(0);
+            this.targetPort = targetPort;
+            executor.execute(this::accept);
+        }
+
+        int getPort() {
+            return serverSocket.getLocalPort();
+        }
+
+        long getReceivedBytes() {
+            return receivedBytes.get();
+        }
+
+        void reset() {
+            receivedBytes.set(0);
+        }
+
+        private void accept() {
+            while (!serverSocket.isClosed()) {
+                try {
+                    Socket client = serverSocket.accept();
+                    Socket server = new Socket("localhost", targetPort);
+                    sockets.add(client);
+                    sockets.add(server);
+                    executor.execute(() -> pump(client, server, null));
+                    executor.execute(() -> pump(server, client, receivedBytes));
+                } catch (IOException e) {
+                    return;
+                }
+            }
+        }
+
+        private void pump(Socket from, Socket to, AtomicLong counter) {
+            byte[] buffer = new byte[8192];
+            try {
+                InputStream in = from.getInputStream();
+                OutputStream out = to.getOutputStream();
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    if (counter != null)
+                        counter.addAndGet(read);
+                    out.write(buffer, 0, read);
+                    out.flush();
+                }
+            } catch (IOException ignored) {
+                //closed by the other side
+            } finally {
+                closeQuietly(to);
+            }
+        }
+
+        @Override
+        public void close() {
+            closeQuietly(serverSocket);
+            sockets.forEach(CountingProxy::closeQuietly);
+            executor.shutdownNow();
+        }
+
+        private static void closeQuietly(Closeable closeable) {
+            try {
+                closeable.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+}
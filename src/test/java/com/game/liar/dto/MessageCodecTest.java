@@ -0,0 +1,66 @@
+package com.game.liar.dto;
+
+import com.game.liar.game.dto.MessageContainer;
+import com.game.liar.game.dto.request.KeywordRequest;
+import com.game.liar.messagequeue.codec.ConnectionCodecRegistry;
+import com.game.liar.messagequeue.codec.MessageCodec;
+import com.game.liar.messagequeue.codec.MessageCodecs;
+import com.game.liar.utils.MessageJsonMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.MimeType;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MessageCodecTest {
+    private final MessageCodecs messageCodecs = new MessageCodecs(new MessageJsonMapper());
+
+    @Test
+    @DisplayName("CBOR로 인코딩한 메세지를 같은 타입으로 읽는다")
+    public void cborRoundTrip() throws Exception {
+        //Given
+        MessageContainer request = MessageContainer.messageContainerBuilder()
+                .senderId("liar")
+                .uuid("uuid")
+                .message(new MessageContainer.Message("checkKeywordCorrect", new KeywordRequest("pizza")))
+                .build();
+        MessageCodec cbor = messageCodecs.getCbor();
+
+        //When
+        byte[] payload = cbor.write(request);
+        MessageContainer result = cbor.read(payload);
+
+        //Then
+        assertThat(payload).isNotEqualTo(messageCodecs.getJson().write(request));
+        assertThat(result.getSenderId()).isEqualTo("liar");
+        assertThat(result.getMessage().getBody()).isInstanceOf(KeywordRequest.class);
+        assertThat(((KeywordRequest) result.getMessage().getBody()).getKeyword()).isEqualTo("pizza");
+    }
+
+    @Test
+    @DisplayName("content-type에 맞는 codec을 고르고, 없으면 JSON을 사용한다")
+    public void codecByContentType() {
+        assertThat(messageCodecs.forContentType(MimeType.valueOf("application/cbor"))).isSameAs(messageCodecs.getCbor());
+        assertThat(messageCodecs.forContentType("application/json;charset=UTF-8")).isSameAs(messageCodecs.getJson());
+        assertThat(messageCodecs.forContentType(null)).isSameAs(messageCodecs.getJson());
+    }
+
+    @Test
+    @DisplayName("기본 codec(JSON) 연결은 registry에 남기지 않는다")
+    public void registryKeepsNonDefaultCodecsOnly() throws Exception {
+        //Given
+        ConnectionCodecRegistry registry = new ConnectionCodecRegistry(messageCodecs);
+        registry.register("session1", "room", "user", messageCodecs.getCbor());
+
+        //When
+        registry.register("session2", "room", "user", messageCodecs.getJson());
+        registry.register("session3", "room", "other", messageCodecs.getJson());
+
+        //Then
+        assertThat(registry.codecOf("user")).isEqualTo(messageCodecs.getJson());
+        assertThat((Map<?, ?>) ReflectionTestUtils.getField(registry, "codecByUser")).isEmpty();
+    }
+}
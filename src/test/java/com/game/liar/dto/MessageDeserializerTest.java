@@ -0,0 +1,88 @@
+package com.game.liar.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.game.liar.game.dto.LiarDesignateDto;
+import com.game.liar.game.dto.MessageContainer;
+import com.game.liar.game.dto.request.GameSettingsRequest;
+import com.game.liar.game.dto.request.KeywordRequest;
+import com.game.liar.game.dto.response.ErrorResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MessageDeserializerTest {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("method에 맞는 타입으로 body를 읽는다")
+    public void bodyTypeByMethod() throws Exception {
+        //Given
+        String request = "{\"senderId\":\"owner\",\"message\":{\"method\":\"startGame\",\"body\":{\"round\":5,\"turn\":2,\"category\":[\"food\"]}},\"uuid\":\"uuid\"}";
+
+        //When
+        MessageContainer result = objectMapper.readValue(request, MessageContainer.class);
+
+        //Then
+        assertThat(result.getMessage().getBody()).isInstanceOf(GameSettingsRequest.class);
+        assertThat(((GameSettingsRequest) result.getMessage().getBody()).getRound()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("body가 method보다 먼저 와도 method에 맞는 타입으로 읽는다")
+    public void bodyBeforeMethod() throws Exception {
+        //Given
+        String request = "{\"message\":{\"body\":{\"keyword\":\"pizza\"},\"method\":\"checkKeywordCorrect\"},\"senderId\":\"liar\",\"uuid\":\"uuid\"}";
+
+        //When
+        MessageContainer result = objectMapper.readValue(request, MessageContainer.class);
+
+        //Then
+        assertThat(result.getMessage().getBody()).isInstanceOf(KeywordRequest.class);
+        assertThat(((KeywordRequest) result.getMessage().getBody()).getKeyword()).isEqualTo("pizza");
+    }
+
+    @Test
+    @DisplayName("등록되지 않은 method는 필드로 타입을 찾는다")
+    public void fallbackToProbing() throws Exception {
+        //Given
+        String response = "{\"senderId\":\"SERVER\",\"message\":{\"method\":\"notifyVoteResult\",\"body\":{\"errorMessage\":\"error\"}},\"uuid\":\"uuid\"}";
+
+        //When
+        MessageContainer result = objectMapper.readValue(response, MessageContainer.class);
+
+        //Then
+        assertThat(result.getMessage().getBody()).isInstanceOf(ErrorResponse.class);
+    }
+
+    @Test
+    @DisplayName("body가 없는 메세지를 읽는다")
+    public void noBody() throws Exception {
+        //Given
+        String request = "{\"senderId\":\"owner\",\"message\":{\"method\":\"startRound\",\"body\":null},\"uuid\":\"uuid\"}";
+
+        //When
+        MessageContainer result = objectMapper.readValue(request, MessageContainer.class);
+
+        //Then
+        assertThat(result.getMessage().getMethod()).isEqualTo("startRound");
+        assertThat(result.getMessage().getBody()).isNull();
+    }
+
+    @Test
+    @DisplayName("직렬화한 메세지를 그대로 다시 읽는다")
+    public void roundTrip() throws Exception {
+        //Given
+        MessageContainer request = MessageContainer.messageContainerBuilder()
+                .senderId("guest")
+                .message(new MessageContainer.Message("voteLiar", new LiarDesignateDto("owner")))
+                .uuid("uuid")
+                .build();
+
+        //When
+        MessageContainer result = objectMapper.readValue(objectMapper.writeValueAsString(request), MessageContainer.class);
+
+        //Then
+        assertThat(((LiarDesignateDto) result.getMessage().getBody()).getLiar()).isEqualTo("owner");
+    }
+}
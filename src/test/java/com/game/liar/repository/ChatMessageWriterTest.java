@@ -0,0 +1,82 @@
+package com.game.liar.repository;
+
+import com.game.liar.chat.domain.ChatMessageDto;
+import com.game.liar.chat.repository.ChatRepository;
+import com.game.liar.chat.service.ChatMessageWriter;
+import com.game.liar.game.domain.Global;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs without the test transaction, so every batch really commits
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class ChatMessageWriterTest {
+    @Autowired
+    private ChatRepository chatRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final String roomId = UUID.randomUUID().toString();
+
+    @BeforeEach
+    void init() {
+        chatRepository.deleteAll();
+    }
+
+    @AfterEach
+    void clear() {
+        chatRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("쌓인 메세지는 flush할 때 batch로 저장된다")
+    public void flushInBatches() throws Exception {
+        //Given
+        ChatMessageWriter writer = new ChatMessageWriter(chatRepository, transactionManager, meterRegistry, 100, 2);
+        for (int i = 0; i < 5; ++i)
+            writer.write(new ChatMessageDto("user", "hello" + i, Global.MessageType.MESSAGE).toEntity(roomId));
+        assertThat(chatRepository.count()).isZero();
+
+        //When
+        writer.flush();
+
+        //Then
+        assertThat(chatRepository.count()).isEqualTo(5);
+        assertThat(meterRegistry.get("chat.writer.flush").timer().count()).isEqualTo(3);
+        assertThat(meterRegistry.get("chat.writer.queued").gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("queue가 가득 차면 메세지를 버리고 센다")
+    public void dropWhenFull() throws Exception {
+        //Given
+        ChatMessageWriter writer = new ChatMessageWriter(chatRepository, transactionManager, meterRegistry, 1, 100);
+
+        //When
+        boolean first = writer.write(new ChatMessageDto("user", "hello", Global.MessageType.MESSAGE).toEntity(roomId));
+        boolean second = writer.write(new ChatMessageDto("user", "hello", Global.MessageType.MESSAGE).toEntity(roomId));
+        writer.flush();
+
+        //Then
+        assertThat(first).isTrue();
+        assertThat(second).isFalse();
+        assertThat(chatRepository.count()).isEqualTo(1);
+        assertThat(meterRegistry.get("chat.writer.dropped").tag("reason", "overloaded").counter().count()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,123 @@
+package com.game.liar.repository;
+
+import com.game.liar.game.domain.GameInfo;
+import com.game.liar.game.domain.GameState;
+import com.game.liar.game.repository.GameInfoRepository;
+import com.game.liar.game.repository.WriteBehindGameStateStore;
+import com.game.liar.game.service.RoomCommandExecutor;
+import com.game.liar.room.domain.RoomId;
+import com.game.liar.user.domain.UserId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+public class GameStateStoreTest {
+    @Autowired
+    private GameInfoRepository gameInfoRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    private RoomCommandExecutor roomCommandExecutor;
+    private WriteBehindGameStateStore gameStateStore;
+
+    @BeforeEach
+    void init() {
+        roomCommandExecutor = new RoomCommandExecutor(1);
+        gameStateStore = new WriteBehindGameStateStore(gameInfoRepository, transactionManager, roomCommandExecutor);
+        gameStateStore.deleteAll();
+    }
+
+    @AfterEach
+    void close() throws InterruptedException {
+        roomCommandExecutor.shutdown();
+    }
+
+    @Test
+    @DisplayName("저장한 게임은 flush 전까지 메모리에서만 조회된다")
+    public void saveGame() throws Exception {
+        //Given
+        GameInfo gameInfo = new GameInfo(RoomId.of("room"), UserId.of("owner"));
+
+        //When
+        gameStateStore.save(gameInfo);
+
+        //Then
+        assertThat(gameStateStore.findById(RoomId.of("room"))).containsSame(gameInfo);
+        assertThat(gameInfoRepository.findById(RoomId.of("room"))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("flush하면 변경된 게임이 DB에 저장된다")
+    public void flushGame() throws Exception {
+        //Given
+        GameInfo gameInfo = new GameInfo(RoomId.of("room"), UserId.of("owner"));
+        gameStateStore.save(gameInfo);
+        gameStateStore.flush();
+
+        //When
+        gameInfo.nextState();
+        gameStateStore.markDirty(RoomId.of("room"));
+        gameStateStore.flush();
+
+        //Then
+        Optional<GameInfo> saved = gameInfoRepository.findById(RoomId.of("room"));
+        assertThat(saved).isPresent();
+        assertThat(saved.get().getState()).isEqualTo(GameState.BEFORE_ROUND);
+    }
+
+    @Test
+    @DisplayName("삭제한 게임은 바로 조회되지 않고 flush 후 DB에서도 삭제된다")
+    public void deleteGame() throws Exception {
+        //Given
+        gameStateStore.save(new GameInfo(RoomId.of("room"), UserId.of("owner")));
+        gameStateStore.flush();
+
+        //When
+        gameStateStore.deleteById(RoomId.of("room"));
+
+        //Then
+        assertThat(gameStateStore.existsById(RoomId.of("room"))).isFalse();
+        gameStateStore.flush();
+        assertThat(gameInfoRepository.findById(RoomId.of("room"))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("메모리에 없는 게임은 DB에서 불러온다")
+    public void loadGame() throws Exception {
+        //Given
+        gameInfoRepository.save(new GameInfo(RoomId.of("room"), UserId.of("owner")));
+
+        //When
+        Optional<GameInfo> result = gameStateStore.findById(RoomId.of("room"));
+
+        //Then
+        assertThat(result).isPresent();
+        assertThat(result.get().getOwnerId()).isEqualTo(UserId.of("owner"));
+    }
+
+    @Test
+    @DisplayName("게임이 없는 방은 다시 DB에서 조회하지 않고, 저장되면 바로 조회된다")
+    public void missingGame() throws Exception {
+        //Given
+        assertThat(gameStateStore.existsById(RoomId.of("room"))).isFalse();
+        gameInfoRepository.save(new GameInfo(RoomId.of("room"), UserId.of("owner")));
+
+        //When
+        boolean cachedMiss = gameStateStore.existsById(RoomId.of("room"));
+        gameStateStore.save(new GameInfo(RoomId.of("room"), UserId.of("owner")));
+
+        //Then
+        assertThat(cachedMiss).isFalse();
+        assertThat(gameStateStore.existsById(RoomId.of("room"))).isTrue();
+    }
+}
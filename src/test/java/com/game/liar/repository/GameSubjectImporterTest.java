@@ -0,0 +1,117 @@
+package com.game.liar.repository;
+
+import com.game.liar.exception.SubjectImportException;
+import com.game.liar.game.domain.GameSubject;
+import com.game.liar.game.dto.SubjectImportResult;
+import com.game.liar.game.repository.GameSubjectRepository;
+import com.game.liar.game.service.GameSubjectImporter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Runs without the test transaction, so every chunk really commits
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class GameSubjectImporterTest {
+    @Autowired
+    private GameSubjectRepository gameSubjectRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    private GameSubjectImporter importer;
+
+    @BeforeEach
+    void init() {
+        gameSubjectRepository.deleteAll();
+        importer = new GameSubjectImporter(jdbcTemplate, transactionManager, 2);
+    }
+
+    @AfterEach
+    void clear() {
+        gameSubjectRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("JSON 배열의 게임 주제를 chunk 단위로 추가하고, 이미 있거나 잘못된 주제는 건너뛴다")
+    public void importJsonArray() throws Exception {
+        //Given
+        gameSubjectRepository.saveAndFlush(new GameSubject("food", "pizza"));
+        String json = "[{\"category\":\"food\",\"keyword\":\"pizza\"}," +
+                "{\"category\":\"food\",\"keyword\":\"chicken\"}," +
+                "{\"category\":\"animal\",\"keyword\":\"dog\",\"extra\":[1,2]}," +
+                "{\"category\":\"animal\"}," +
+                "{\"category\":\"food\",\"keyword\":\"chicken\"}," +
+                "{\"category\":\"animal\",\"keyword\":\"cat\"}]";
+
+        //When
+        SubjectImportResult result = importer.importSubjects(stream(json));
+
+        //Then
+        assertThat(result.getRead()).isEqualTo(6);
+        assertThat(result.getInserted()).isEqualTo(3);
+        assertThat(result.getDuplicated()).isEqualTo(2);
+        assertThat(result.getInvalid()).isEqualTo(1);
+        assertThat(result.getChunks()).hasSize(2);
+        assertThat(gameSubjectRepository.count()).isEqualTo(4);
+        assertThat(gameSubjectRepository.findByCategoryAndKeyword("animal", "cat")).isPresent();
+    }
+
+    @Test
+    @DisplayName("NDJSON 게임 주제를 추가한다")
+    public void importNdjson() throws Exception {
+        //Given
+        String ndjson = "{\"category\":\"sports\",\"keyword\":\"soccer\"}\n" +
+                "{\"category\":\"sports\",\"keyword\":\"baseball\"}\n" +
+                "\n" +
+                "{\"category\":\"place\",\"keyword\":\"school\"}\n";
+
+        //When
+        SubjectImportResult result = importer.importSubjects(stream(ndjson));
+
+        //Then
+        assertThat(result.getInserted()).isEqualTo(3);
+        assertThat(result.getChunks()).extracting(SubjectImportResult.Chunk::getInserted).containsExactly(2, 1);
+        assertThat(gameSubjectRepository.count()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("형식이 잘못된 입력은 진행 상황과 함께 에러를 내고, 이미 commit된 chunk는 남는다")
+    public void malformedInput() throws Exception {
+        //Given
+        String json = "[{\"category\":\"food\",\"keyword\":\"pizza\"}," +
+                "{\"category\":\"food\",\"keyword\":\"chicken\"}," +
+                "{\"category\":\"food\",\"keyword\":\"noodle\"}, \"pizza\"]";
+
+        //When
+        SubjectImportException e = assertThrows(SubjectImportException.class, () -> importer.importSubjects(stream(json)));
+
+        //Then
+        assertThat(e.getResult().getError()).isNotNull();
+        assertThat(e.getResult().getChunks()).hasSize(1);
+        assertThat(e.getResult().getInserted()).isEqualTo(2);
+        assertThat(gameSubjectRepository.count()).isEqualTo(2);
+    }
+
+    private InputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
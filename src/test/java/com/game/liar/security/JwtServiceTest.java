@@ -0,0 +1,42 @@
+package com.game.liar.security;
+
+import com.game.liar.game.domain.RoomSettings;
+import com.game.liar.room.domain.Room;
+import com.game.liar.room.domain.RoomId;
+import com.game.liar.room.dto.UserDto;
+import com.game.liar.security.domain.TokenProvider;
+import com.game.liar.security.dto.TokenDto;
+import com.game.liar.user.domain.UserId;
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtServiceTest {
+    private static final String SECRET = "Mjg1MGNjZTAtOWFlMC00YTdkLThmYWYtMDE0NDlmNDk0ZGZidGhpcy1pcy1saWFyLWdhbWUtand0LXRva2VuLWtleTljODBmZTU5LTY2ZjgtNDYzNC1hMjZmLTJlYjNmMzkxY2Q0MmQ3MDYzOWUxLTMyMjQtNDYwMS1hYTQwLTk5OWJiOWUwODI4NA==";
+
+    private final TokenProvider tokenProvider = new TokenProvider(SECRET);
+    private final JwtService jwtService = new JwtService(tokenProvider);
+
+    @Test
+    @DisplayName("생성된 유저의 토큰을 인증 과정 없이 발급한다")
+    void mintTokenOfCreatedUser() {
+        //Given
+        RoomId roomId = RoomId.of(UUID.randomUUID().toString());
+        String userId = UUID.randomUUID().toString();
+        Room room = new Room(roomId, RoomSettings.of(6), UserId.of(userId));
+        UserDto user = UserDto.builder().userId(userId).username("owner").password("password").build();
+
+        //When
+        TokenDto token = jwtService.getJwtToken(user, room);
+
+        //Then
+        assertThat(tokenProvider.validateToken(token.getAccessToken())).isTrue();
+        Claims claims = tokenProvider.parseClaims(token.getAccessToken());
+        assertThat(claims.getSubject()).isEqualTo(roomId.getId() + userId);
+        assertThat(claims.get("auth")).isEqualTo("ROLE_USER");
+    }
+}
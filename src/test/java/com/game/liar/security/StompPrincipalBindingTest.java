@@ -0,0 +1,116 @@
+package com.game.liar.security;
+
+import com.game.liar.exception.NotAllowedActionException;
+import com.game.liar.game.service.MessageService;
+import com.game.liar.messagequeue.codec.ConnectionCodecRegistry;
+import com.game.liar.messagequeue.codec.MessageCodecs;
+import com.game.liar.security.domain.TokenProvider;
+import com.game.liar.websocket.InboundInterceptor;
+import com.game.liar.websocket.StompPrincipal;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StompPrincipalBindingTest {
+    @Mock
+    TokenProvider tokenProvider;
+    @Mock
+    ApplicationEventPublisher publisher;
+    @Mock
+    MessageService messageService;
+    @Mock
+    MessageCodecs messageCodecs;
+    @Mock
+    ConnectionCodecRegistry connectionCodecRegistry;
+    @Mock
+    MessageChannel channel;
+
+    InboundInterceptor inboundInterceptor;
+    String roomId;
+    String userId;
+    Map<String, Object> sessionAttributes;
+
+    @BeforeEach
+    void init() {
+        inboundInterceptor = new InboundInterceptor(tokenProvider, publisher, messageService, messageCodecs, connectionCodecRegistry);
+        roomId = UUID.randomUUID().toString();
+        userId = UUID.randomUUID().toString();
+        sessionAttributes = new HashMap<>();
+    }
+
+    @Test
+    @DisplayName("CONNECT에서 JWT의 room과 user를 session에 저장한다")
+    void bindOnConnect() {
+        //Given
+        when(tokenProvider.validateToken("token")).thenReturn(true);
+        when(tokenProvider.parseClaims("token")).thenReturn(Jwts.claims().setSubject(roomId + userId));
+
+        //When
+        Message<?> connect = inboundInterceptor.preSend(connectMessage(), channel);
+
+        //Then
+        StompPrincipal principal = StompPrincipal.of(connect);
+        assertThat(principal).isEqualTo(new StompPrincipal(roomId, userId));
+        assertThat(sessionAttributes.get(StompPrincipal.SESSION_ATTRIBUTE)).isEqualTo(principal);
+    }
+
+    @Test
+    @DisplayName("SUBSCRIBE는 JWT를 다시 검증하지 않고 session의 room만 구독할 수 있다")
+    void subscribeWithoutToken() {
+        //Given
+        sessionAttributes.put(StompPrincipal.SESSION_ATTRIBUTE, new StompPrincipal(roomId, userId));
+
+        //When
+        inboundInterceptor.preSend(subscribeMessage(String.format("/exchange/amq.topic/room.%s.user.*", roomId)), channel);
+
+        //Then
+        verify(tokenProvider, never()).parseClaims(anyString());
+        verify(tokenProvider, never()).validateToken(anyString());
+        assertThatThrownBy(() -> inboundInterceptor.preSend(subscribeMessage("/exchange/amq.topic/room.other.user.*"), channel))
+                .isInstanceOf(NotAllowedActionException.class);
+    }
+
+    @Test
+    @DisplayName("CONNECT 하지 않은 session의 SUBSCRIBE는 거부한다")
+    void subscribeWithoutConnect() {
+        assertThatThrownBy(() -> inboundInterceptor.preSend(subscribeMessage(String.format("/exchange/amq.topic/room.%s.user.*", roomId)), channel))
+                .isInstanceOf(NotAllowedActionException.class);
+    }
+
+    private Message<byte[]> connectMessage() {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.CONNECT);
+        accessor.setNativeHeader("Authorization", "Bearer token");
+        accessor.setSessionId("session");
+        accessor.setSessionAttributes(sessionAttributes);
+        accessor.setLeaveMutable(true);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+
+    private Message<byte[]> subscribeMessage(String destination) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.SUBSCRIBE);
+        accessor.setDestination(destination);
+        accessor.setSessionId("session");
+        accessor.setSessionAttributes(sessionAttributes);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+}
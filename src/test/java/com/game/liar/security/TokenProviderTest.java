@@ -0,0 +1,85 @@
+package com.game.liar.security;
+
+import com.game.liar.security.domain.TokenProvider;
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenProviderTest {
+    private static final String SECRET = "Mjg1MGNjZTAtOWFlMC00YTdkLThmYWYtMDE0NDlmNDk0ZGZidGhpcy1pcy1saWFyLWdhbWUtand0LXRva2VuLWtleTljODBmZTU5LTY2ZjgtNDYzNC1hMjZmLTJlYjNmMzkxY2Q0MmQ3MDYzOWUxLTMyMjQtNDYwMS1hYTQwLTk5OWJiOWUwODI4NA==";
+
+    private TokenProvider tokenProvider;
+    private String subject;
+    private String accessToken;
+
+    @BeforeEach
+    void init() {
+        tokenProvider = new TokenProvider(SECRET, 2);
+        subject = UUID.randomUUID().toString() + UUID.randomUUID();
+        accessToken = createToken(subject);
+    }
+
+    @Test
+    @DisplayName("검증된 토큰은 다시 검증하지 않고 같은 claims를 돌려준다")
+    void verifiedOnce() {
+        //Given
+        assertThat(tokenProvider.validateToken(accessToken)).isTrue();
+
+        //When
+        Claims first = tokenProvider.parseClaims(accessToken);
+        Claims second = tokenProvider.parseClaims(accessToken);
+
+        //Then
+        assertThat(first.getSubject()).isEqualTo(subject);
+        assertThat(second).isSameAs(first);
+    }
+
+    @Test
+    @DisplayName("다른 키로 서명된 토큰은 검증된 토큰과 같은 claims를 가져도 거부한다")
+    void tamperedToken() {
+        //Given
+        tokenProvider.validateToken(accessToken);
+        byte[] otherKey = new byte[64];
+        new SecureRandom().nextBytes(otherKey);
+        String tampered = new TokenProvider(Base64.getEncoder().encodeToString(otherKey))
+                .generateTokenDto(new UsernamePasswordAuthenticationToken(subject, "",
+                        Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER")))).getAccessToken();
+
+        //When
+        boolean result = tokenProvider.validateToken(tampered);
+
+        //Then
+        assertThat(result).isFalse();
+    }
+
+    @Test
+    @DisplayName("캐시가 가득 차도 오래된 토큰은 다시 검증해서 사용할 수 있다")
+    void evictedTokenVerifiedAgain() {
+        //Given
+        Claims claims = tokenProvider.parseClaims(accessToken);
+        tokenProvider.parseClaims(createToken(UUID.randomUUID().toString() + UUID.randomUUID()));
+        tokenProvider.parseClaims(createToken(UUID.randomUUID().toString() + UUID.randomUUID()));
+
+        //When
+        Claims result = tokenProvider.parseClaims(accessToken);
+
+        //Then
+        assertThat(result).isNotSameAs(claims);
+        assertThat(result.getSubject()).isEqualTo(subject);
+    }
+
+    private String createToken(String subject) {
+        return tokenProvider.generateTokenDto(new UsernamePasswordAuthenticationToken(subject, "",
+                Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER")))).getAccessToken();
+    }
+}
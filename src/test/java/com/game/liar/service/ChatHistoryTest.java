@@ -0,0 +1,88 @@
+package com.game.liar.service;
+
+import com.game.liar.chat.domain.ChatMessageDto;
+import com.game.liar.chat.dto.ChatHistoryResponse;
+import com.game.liar.chat.service.ChatHistory;
+import com.game.liar.game.domain.Global;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ChatHistoryTest {
+    private static final String ROOM = "room";
+
+    @Test
+    @DisplayName("용량을 넘으면 오래된 채팅부터 덮어쓰고 최근 N개를 순서대로 준다")
+    public void lastMessages() throws Exception {
+        //Given
+        ChatHistory chatHistory = new ChatHistory(3, 60000);
+
+        //When
+        for (int i = 1; i <= 5; i++) {
+            chatHistory.append(ROOM, message(i));
+        }
+        ChatHistoryResponse lastTwo = chatHistory.last(ROOM, 2);
+        ChatHistoryResponse all = chatHistory.last(ROOM, 10);
+
+        //Then
+        assertThat(lastTwo.getLastSeq()).isEqualTo(5L);
+        assertThat(seqs(lastTwo)).containsExactly(4L, 5L);
+        assertThat(seqs(all)).containsExactly(3L, 4L, 5L);
+        assertThat(all.getMessages().get(0).getMessage()).isEqualTo("message3");
+    }
+
+    @Test
+    @DisplayName("sequence 이후의 채팅을 limit 만큼 주고, 이미 덮어쓴 채팅이 있으면 truncated 로 알린다")
+    public void messagesSince() throws Exception {
+        //Given
+        ChatHistory chatHistory = new ChatHistory(3, 60000);
+        for (int i = 1; i <= 5; i++) {
+            chatHistory.append(ROOM, message(i));
+        }
+
+        //When
+        ChatHistoryResponse page = chatHistory.since(ROOM, 3L, 1);
+        ChatHistoryResponse upToDate = chatHistory.since(ROOM, 5L, 10);
+        ChatHistoryResponse missed = chatHistory.since(ROOM, 1L, 10);
+        ChatHistoryResponse unknown = chatHistory.since(ROOM, 9L, 10);
+
+        //Then
+        assertThat(seqs(page)).containsExactly(4L);
+        assertThat(page.isTruncated()).isFalse();
+        assertThat(upToDate.getMessages()).isEmpty();
+        assertThat(upToDate.isTruncated()).isFalse();
+        assertThat(seqs(missed)).containsExactly(3L, 4L, 5L);
+        assertThat(missed.isTruncated()).isTrue();
+        assertThat(unknown.isTruncated()).isTrue();
+    }
+
+    @Test
+    @DisplayName("채팅이 없는 방은 비어있고, 오래 채팅이 없는 방은 지운다")
+    public void emptyAndIdleRoom() throws Exception {
+        //Given
+        ChatHistory chatHistory = new ChatHistory(3, -1);
+        chatHistory.append(ROOM, message(1));
+
+        //When
+        ChatHistoryResponse empty = chatHistory.last("other", 10);
+        chatHistory.evictIdle();
+        ChatHistoryResponse evicted = chatHistory.last(ROOM, 10);
+
+        //Then
+        assertThat(empty.getMessages()).isEmpty();
+        assertThat(empty.getLastSeq()).isEqualTo(0L);
+        assertThat(evicted.getMessages()).isEmpty();
+    }
+
+    private ChatMessageDto message(int i) {
+        return new ChatMessageDto("user" + i, "message" + i, Global.MessageType.MESSAGE);
+    }
+
+    private List<Long> seqs(ChatHistoryResponse response) {
+        return response.getMessages().stream().map(ChatHistoryResponse.Entry::getSeq).collect(Collectors.toList());
+    }
+}
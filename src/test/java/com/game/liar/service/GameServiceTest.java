@@ -2,7 +2,6 @@ package com.game.liar.service;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.game.liar.exception.*;
-import com.game.liar.game.config.TimerInfoThreadPoolTaskScheduler;
 import com.game.liar.game.domain.*;
 import com.game.liar.game.dto.LiarDesignateDto;
 import com.game.liar.game.dto.MessageContainer;
@@ -10,12 +9,17 @@ import com.game.liar.game.dto.request.GameSettingsRequest;
 import com.game.liar.game.dto.request.KeywordRequest;
 import com.game.liar.game.dto.response.*;
 import com.game.liar.game.repository.GameInfoRepository;
+import com.game.liar.game.repository.GameStateStore;
+import com.game.liar.game.repository.WriteBehindGameStateStore;
 import com.game.liar.game.service.GameService;
+import com.game.liar.game.service.GameStateSync;
 import com.game.liar.game.service.GameSubjectService;
 import com.game.liar.game.service.MessageService;
+import com.game.liar.game.service.RoomCommandExecutor;
 import com.game.liar.messagequeue.TimeoutManager;
 import com.game.liar.room.domain.RoomId;
 import com.game.liar.room.dto.*;
+import com.game.liar.room.service.LiveRoomRegistry;
 import com.game.liar.room.service.RoomService;
 import com.game.liar.security.dto.TokenDto;
 import com.game.liar.user.domain.UserId;
@@ -29,6 +33,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.*;
@@ -51,16 +56,20 @@ class GameServiceTest {
     GameSubjectService gameSubjectService;
     @Autowired
     GameInfoRepository gameInfoRepository;
+    @Autowired
+    PlatformTransactionManager transactionManager;
+    GameStateStore gameStateStore;
     @Mock
     MessageService messageService;
     @Mock
-    TimerInfoThreadPoolTaskScheduler taskScheduler;
-    @Mock
     TimeoutManager timeoutManager;
+    @Mock
+    RoomCommandExecutor roomCommandExecutor;
 
     @BeforeEach
     public void init() {
-        gameService = new GameService(roomService, gameSubjectService, gameInfoRepository, messageService, timeoutManager);
+        gameStateStore = new WriteBehindGameStateStore(gameInfoRepository, transactionManager, roomCommandExecutor);
+        gameService = new GameService(roomService, gameSubjectService, gameStateStore, messageService, timeoutManager, roomCommandExecutor, new GameStateSync(false, 64), new LiveRoomRegistry(id -> true));
         gameService.clearGame();
     }
 
@@ -274,7 +283,7 @@ class GameServiceTest {
     public void verify_startRound_wrong_round_error() {
         //Given
         gameService.addGame("room", "owner");
-        GameInfo gameInfo = gameInfoRepository.findById(RoomId.of("room")).orElseThrow(RuntimeException::new);
+        GameInfo gameInfo = gameStateStore.findById(RoomId.of("room")).orElseThrow(RuntimeException::new);
         gameInfo.setGameSettings(new GameSettings(5, 2, new ArrayList<>()));
         gameInfo.nextState();
         gameInfo.initialize(new HashMap<>(), new ArrayList<>());
@@ -306,11 +315,11 @@ class GameServiceTest {
 
         //when
         GameStateResponse stateResponse = __selectLiar(roomOwnerId, roomId);
-        GameInfo gameInfo = gameInfoRepository.findById(RoomId.of(roomId)).orElseThrow(RuntimeException::new);
+        GameInfo gameInfo = gameStateStore.findById(RoomId.of(roomId)).orElseThrow(RuntimeException::new);
 
         //Then
         assertThat(gameInfo.getLiarId()).isNotBlank();
-        verify(messageService, times(2)).sendPrivateMessage(any(), any(), any(), any());
+        verify(messageService, times(1)).sendPrivateMessages(any(), argThat(messageByUser -> messageByUser.size() == 2), any());
         assertThat(stateResponse.getState()).isEqualTo(GameState.OPEN_KEYWORD);
     }
 
@@ -479,7 +488,7 @@ class GameServiceTest {
         gameService.updateTurn(UUID.randomUUID().toString(), Global.SERVER_ID, roomId);
 
         //Then
-        GameInfo gameInfo = gameInfoRepository.findById(RoomId.of(roomId)).orElseThrow(RuntimeException::new);
+        GameInfo gameInfo = gameStateStore.findById(RoomId.of(roomId)).orElseThrow(RuntimeException::new);
         assertThat(gameInfo.getCurrentTurnId()).isEqualTo(turnOrder.get(0));
         gameService.updateTurn(UUID.randomUUID().toString(), turnOrder.get(0), roomId);
         assertThat(gameInfo.getCurrentTurnId()).isEqualTo(turnOrder.get(1));
@@ -572,7 +581,7 @@ class GameServiceTest {
         String roomId = room.getRoom().getRoomId();
         String guestId = __addRoomMember(roomId);
         GameInfo gameInfo = gameService.getGame(RoomId.of(roomId));
-        when(roomService.getUsersId(any())).thenReturn(Arrays.asList(roomOwnerId, guestId));
+        when(roomService.isMember(any(), any())).thenReturn(true);
 
         MessageContainer messageContainer;
         __startGame(roomOwnerId, roomId);
@@ -643,7 +652,7 @@ class GameServiceTest {
         String roomId = room.getRoom().getRoomId();
         String guestId = __addRoomMember(roomId);
         GameInfo gameInfo = gameService.getGame(RoomId.of(roomId));
-        when(roomService.getUsersId(any())).thenReturn(Arrays.asList(roomOwnerId, guestId));
+        when(roomService.isMember(any(), any())).thenReturn(true);
 
         __startGame(roomOwnerId, roomId);
         __startRound(roomOwnerId, roomId);
@@ -706,7 +715,7 @@ class GameServiceTest {
         String roomOwnerId = room.getRoom().getOwnerId();
         String roomId = room.getRoom().getRoomId();
         String guestId = __addRoomMember(roomId);
-        when(roomService.getUsersId(any())).thenReturn(Arrays.asList(roomOwnerId, guestId));
+        when(roomService.isMember(any(), any())).thenReturn(true);
 
         __startGame(roomOwnerId, roomId);
         __startRound(roomOwnerId, roomId);
@@ -741,6 +750,7 @@ class GameServiceTest {
         String guestId = __addRoomMember(roomId);
         GameInfo gameInfo = gameService.getGame(RoomId.of(roomId));
         when(roomService.getUsersId(any())).thenReturn(Arrays.asList(roomOwnerId, guestId));
+        when(roomService.isMember(any(), any())).thenReturn(true);
 
         __startGame(roomOwnerId, roomId);
         __startRound(roomOwnerId, roomId);
@@ -817,7 +827,7 @@ class GameServiceTest {
                 .senderId(senderId)
                 .uuid(UUID.randomUUID().toString())
                 .build();
-        when(roomService.getUsersId(any())).thenReturn(Arrays.asList(designatedId));
+        when(roomService.isMember(any(), any())).thenReturn(true);
         gameService.voteLiar(messageContainer, roomId);
 
     }
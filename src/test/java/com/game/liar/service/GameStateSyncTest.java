@@ -0,0 +1,97 @@
+package com.game.liar.service;
+
+import com.game.liar.game.domain.GameInfo;
+import com.game.liar.game.domain.GameState;
+import com.game.liar.game.dto.response.StatePatchResponse;
+import com.game.liar.game.dto.response.StatePatchResponse.Patch;
+import com.game.liar.game.dto.response.StateSyncResponse;
+import com.game.liar.game.service.GameStateSync;
+import com.game.liar.room.domain.RoomId;
+import com.game.liar.user.domain.UserId;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class GameStateSyncTest {
+    private static final String ROOM = "room";
+
+    @Test
+    @DisplayName("바뀐 부분만 다음 sequence의 patch로 만든다")
+    public void patchChangesOnly() throws Exception {
+        //Given
+        GameStateSync stateSync = new GameStateSync(true, 64);
+        GameInfo gameInfo = new GameInfo(RoomId.of(ROOM), UserId.of("owner"));
+        stateSync.diff(ROOM, gameInfo);
+
+        //When
+        gameInfo.addVoteResult("user1", "user2");
+        StatePatchResponse vote = stateSync.diff(ROOM, gameInfo);
+        StatePatchResponse nothing = stateSync.diff(ROOM, gameInfo);
+        gameInfo.resetVoteResult();
+        StatePatchResponse cleared = stateSync.diff(ROOM, gameInfo);
+
+        //Then
+        assertThat(vote.getSeq()).isEqualTo(2);
+        assertThat(vote.getPatches()).containsExactly(new Patch(Patch.VOTE, "user1", "user2"));
+        assertThat(nothing).isNull();
+        assertThat(cleared.getSeq()).isEqualTo(3);
+        assertThat(cleared.getPatches()).containsExactly(new Patch(Patch.VOTES_CLEARED, null, null));
+    }
+
+    @Test
+    @DisplayName("남아있는 patch 이후를 요청하면 DELTA, 오래된 sequence는 FULL snapshot을 준다")
+    public void deltaOrFull() throws Exception {
+        //Given
+        GameStateSync stateSync = new GameStateSync(true, 2);
+        GameInfo gameInfo = new GameInfo(RoomId.of(ROOM), UserId.of("owner"));
+        stateSync.diff(ROOM, gameInfo);
+        gameInfo.nextState();
+        stateSync.diff(ROOM, gameInfo);
+        gameInfo.addVoteResult("user1", "user2");
+        stateSync.diff(ROOM, gameInfo);
+
+        //When
+        StateSyncResponse delta = stateSync.sync(ROOM, gameInfo, 1L);
+        StateSyncResponse upToDate = stateSync.sync(ROOM, gameInfo, 3L);
+        StateSyncResponse full = stateSync.sync(ROOM, gameInfo, 0L);
+        StateSyncResponse first = stateSync.sync(ROOM, gameInfo, null);
+
+        //Then
+        assertThat(delta.getMode()).isEqualTo(StateSyncResponse.DELTA);
+        assertThat(delta.getPatches().stream().map(StatePatchResponse::getSeq).collect(Collectors.toList())).containsExactly(2L, 3L);
+        assertThat(upToDate.getMode()).isEqualTo(StateSyncResponse.DELTA);
+        assertThat(upToDate.getPatches()).isEmpty();
+        assertThat(full.getMode()).isEqualTo(StateSyncResponse.FULL);
+        assertThat(full.getSeq()).isEqualTo(3);
+        assertThat(full.getSnapshot().getState()).isEqualTo(GameState.BEFORE_START.next());
+        assertThat(full.getSnapshot().getVoteResult()).containsEntry("user1", "user2");
+        assertThat(first.getMode()).isEqualTo(StateSyncResponse.FULL);
+    }
+
+    @Test
+    @DisplayName("delta를 쓰지 않으면 항상 현재 게임의 snapshot을 준다")
+    public void fullWithoutDelta() throws Exception {
+        //Given
+        GameStateSync stateSync = new GameStateSync(false, 64);
+        GameInfo gameInfo = new GameInfo(RoomId.of(ROOM), UserId.of("owner"));
+        gameInfo.addVoteResult("user1", "user2");
+
+        //When
+        StateSyncResponse response = stateSync.sync(ROOM, gameInfo, 5L);
+
+        //Then
+        assertThat(response.getMode()).isEqualTo(StateSyncResponse.FULL);
+        assertThat(response.getSnapshot().getVoteResult()).containsEntry("user1", "user2");
+    }
+
+    @Test
+    @DisplayName("patch를 보관하지 않는 log 크기는 거부한다")
+    public void rejectEmptyLog() throws Exception {
+        //When, Then
+        assertThatThrownBy(() -> new GameStateSync(true, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
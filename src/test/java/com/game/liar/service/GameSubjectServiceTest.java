@@ -3,6 +3,7 @@ package com.game.liar.service;
 import com.game.liar.exception.AlreadyExistException;
 import com.game.liar.game.config.GameCategoryProperties;
 import com.game.liar.game.domain.GameSubject;
+import com.game.liar.game.domain.SubjectCatalog;
 import com.game.liar.game.dto.GameSubjectDto;
 import com.game.liar.game.repository.GameSubjectRepository;
 import com.game.liar.game.service.GameSubjectService;
@@ -124,4 +125,30 @@ public class GameSubjectServiceTest {
         verify(gameSubjectRepository, times(3)).save(any());
     }
 
+    @Test
+    @DisplayName("게임 주제는 한번만 DB에서 읽고, 추가된 주제는 새 버전의 catalog에 반영한다")
+    public void catalogLoadedOnce() throws Exception {
+        //Given
+        when(gameSubjectRepository.isTableEmpty()).thenReturn(false);
+        when(gameSubjectRepository.findAll()).thenReturn(Arrays.asList(
+                new GameSubject("food", "pizza"),
+                new GameSubject("animal", "dog"),
+                new GameSubject("food", "chicken")));
+        SubjectCatalog loaded = subjectService.getCatalog();
+
+        //When
+        Map<String, List<String>> subjects = subjectService.getAllSubject();
+        List<String> categories = subjectService.getAllCategory();
+        subjectService.addSubject(new GameSubjectDto("animal", "cat"));
+        SubjectCatalog added = subjectService.getCatalog();
+
+        //Then
+        assertThat(subjects.get("food")).containsExactly("chicken", "pizza");
+        assertThat(categories).containsExactly("animal", "food");
+        assertThat(added.getVersion()).isEqualTo(loaded.getVersion() + 1);
+        assertThat(added.getSubjects().get("animal")).containsExactly("cat", "dog");
+        assertThat(loaded.getSubjects().get("animal")).containsExactly("dog");
+        verify(gameSubjectRepository, times(1)).findAll();
+        verify(gameSubjectRepository, times(1)).isTableEmpty();
+    }
 }
@@ -0,0 +1,174 @@
+package com.game.liar.service;
+
+import com.game.liar.websocket.config.ChannelExecutorProperties;
+import com.game.liar.websocket.config.KeyedChannelExecutor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.messaging.support.MessageHandlingRunnable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class KeyedChannelExecutorTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private KeyedChannelExecutor executor;
+
+    @AfterEach
+    void close() {
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("같은 room의 메세지는 들어온 순서대로 처리된다")
+    public void sameRoomInOrder() throws Exception {
+        //Given
+        executor = create(100000, ChannelExecutorProperties.OverloadPolicy.REJECT);
+        List<Integer> processed = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(1000);
+
+        //When
+        for (int i = 0; i < 1000; ++i) {
+            int order = i;
+            executor.execute(task("room", () -> {
+                processed.add(order);
+                done.countDown();
+            }));
+        }
+
+        //Then
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(processed).isEqualTo(IntStream.range(0, 1000).boxed().collect(Collectors.toList()));
+    }
+
+    @Test
+    @DisplayName("대기 메세지가 가득 차면 REJECT는 예외를 던진다")
+    public void rejectWhenOverloaded() throws Exception {
+        //Given
+        executor = create(1, ChannelExecutorProperties.OverloadPolicy.REJECT);
+        CountDownLatch release = new CountDownLatch(1);
+        executor.execute(task("room", () -> await(release)));
+
+        //When, Then
+        assertThatThrownBy(() -> executor.execute(task("room", () -> {
+        }))).isInstanceOf(TaskRejectedException.class);
+        release.countDown();
+    }
+
+    @Test
+    @DisplayName("대기 메세지가 가득 차면 SHED는 메세지를 버리고 개수를 센다")
+    public void shedWhenOverloaded() throws Exception {
+        //Given
+        executor = create(1, ChannelExecutorProperties.OverloadPolicy.SHED);
+        CountDownLatch release = new CountDownLatch(1);
+        executor.execute(task("room", () -> await(release)));
+
+        //When
+        executor.execute(task("room", () -> {
+            throw new IllegalStateException("should be dropped");
+        }));
+
+        //Then
+        assertThat(meterRegistry.get("messaging.channel.overloaded").counter().count()).isEqualTo(1);
+        assertThat(executor.getPendingCount()).isEqualTo(1);
+        release.countDown();
+    }
+
+    @Test
+    @DisplayName("대기 메세지가 가득 차도 SHED는 CONNECTED 프레임을 버리지 않는다")
+    public void neverShedConnected() throws Exception {
+        //Given
+        executor = create(1, ChannelExecutorProperties.OverloadPolicy.SHED);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch connected = new CountDownLatch(1);
+        executor.execute(task("room", () -> await(release)));
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.CONNECTED);
+        accessor.setLeaveMutable(true);
+
+        //When
+        executor.execute(messageTask(MessageBuilder.createMessage("room", accessor.getMessageHeaders()), connected::countDown));
+        release.countDown();
+
+        //Then
+        assertThat(connected.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(meterRegistry.get("messaging.channel.overloaded").counter().count()).isZero();
+    }
+
+    @Test
+    @DisplayName("대기 메세지가 가득 차도 REJECT는 CONNECT_ACK를 거부하지 않는다")
+    public void neverRejectConnectAck() throws Exception {
+        //Given
+        executor = create(1, ChannelExecutorProperties.OverloadPolicy.REJECT);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch connected = new CountDownLatch(1);
+        executor.execute(task("room", () -> await(release)));
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.CONNECT_ACK);
+        accessor.setLeaveMutable(true);
+
+        //When
+        executor.execute(messageTask(MessageBuilder.createMessage("room", accessor.getMessageHeaders()), connected::countDown));
+        release.countDown();
+
+        //Then
+        assertThat(connected.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(meterRegistry.get("messaging.channel.overloaded").counter().count()).isZero();
+    }
+
+    private KeyedChannelExecutor create(int capacity, ChannelExecutorProperties.OverloadPolicy policy) {
+        ChannelExecutorProperties.Pool pool = new ChannelExecutorProperties.Pool();
+        pool.setPoolSize(4);
+        pool.setQueueCapacity(capacity);
+        pool.setOverloadPolicy(policy);
+        KeyedChannelExecutor executor = new KeyedChannelExecutor("test", pool, message -> (String) message.getPayload(), meterRegistry);
+        executor.initialize();
+        return executor;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static MessageHandlingRunnable task(String key, Runnable body) {
+        return messageTask(MessageBuilder.withPayload(key).build(), body);
+    }
+
+    private static MessageHandlingRunnable messageTask(Message<String> message, Runnable body) {
+        return new MessageHandlingRunnable() {
+            @Override
+            public Message<?> getMessage() {
+                return message;
+            }
+
+            @Override
+            public MessageHandler getMessageHandler() {
+                return m -> body.run();
+            }
+
+            @Override
+            public void run() {
+                body.run();
+            }
+        };
+    }
+}
@@ -0,0 +1,93 @@
+package com.game.liar.service;
+
+import com.game.liar.room.domain.RoomId;
+import com.game.liar.room.repository.RoomRepository;
+import com.game.liar.room.service.LiveRoomRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class LiveRoomRegistryTest {
+    @Mock
+    private RoomRepository roomRepository;
+    private LiveRoomRegistry liveRoomRegistry;
+
+    @BeforeEach
+    void init() {
+        liveRoomRegistry = new LiveRoomRegistry(roomRepository);
+    }
+
+    @Test
+    @DisplayName("등록된 방은 DB 조회 없이 확인한다")
+    public void registeredRoom() throws Exception {
+        //Given
+        RoomId roomId = RoomId.of("room");
+        liveRoomRegistry.register(roomId);
+
+        //When
+        boolean exists = liveRoomRegistry.contains(roomId);
+
+        //Then
+        assertThat(exists).isTrue();
+        verify(roomRepository, never()).existsById(any());
+    }
+
+    @Test
+    @DisplayName("등록되지 않은 방은 DB에 있으면 한번만 조회하고 등록한다")
+    public void loadOnce() throws Exception {
+        //Given
+        RoomId roomId = RoomId.of("room");
+        when(roomRepository.existsById(roomId)).thenReturn(true);
+
+        //When
+        liveRoomRegistry.contains(roomId);
+        boolean exists = liveRoomRegistry.contains(roomId);
+
+        //Then
+        assertThat(exists).isTrue();
+        verify(roomRepository, times(1)).existsById(roomId);
+    }
+
+    @Test
+    @DisplayName("등록 해제된 방은 DB에 없으면 없는 방이다")
+    public void unregisteredRoom() throws Exception {
+        //Given
+        RoomId roomId = RoomId.of("room");
+        liveRoomRegistry.register(roomId);
+        when(roomRepository.existsById(roomId)).thenReturn(false);
+
+        //When
+        liveRoomRegistry.unregister(roomId);
+        boolean exists = liveRoomRegistry.contains(roomId);
+
+        //Then
+        assertThat(exists).isFalse();
+    }
+
+    @Test
+    @DisplayName("DB에 없는 방은 잠시 기억해서 다시 조회하지 않고, 생성되면 바로 등록된다")
+    public void missingRoom() throws Exception {
+        //Given
+        RoomId roomId = RoomId.of("room");
+        when(roomRepository.existsById(roomId)).thenReturn(false);
+
+        //When
+        liveRoomRegistry.contains(roomId);
+        boolean missing = liveRoomRegistry.contains(roomId);
+        liveRoomRegistry.register(roomId);
+        boolean created = liveRoomRegistry.contains(roomId);
+
+        //Then
+        assertThat(missing).isFalse();
+        assertThat(created).isTrue();
+        verify(roomRepository, times(1)).existsById(roomId);
+    }
+}
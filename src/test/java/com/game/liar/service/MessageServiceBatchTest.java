@@ -0,0 +1,124 @@
+package com.game.liar.service;
+
+import com.game.liar.game.dto.MessageContainer;
+import com.game.liar.game.dto.response.GameStateResponse;
+import com.game.liar.game.service.MessageService;
+import com.game.liar.messagequeue.codec.ConnectionCodecRegistry;
+import com.game.liar.messagequeue.codec.MessageCodecs;
+import com.game.liar.messagequeue.publisher.MessagePublisher;
+import com.game.liar.messagequeue.publisher.OutboundMessage;
+import com.game.liar.utils.MessageJsonMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static com.game.liar.game.domain.Global.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MessageServiceBatchTest {
+    private final List<List<OutboundMessage>> published = new ArrayList<>();
+    private MessageService messageService;
+
+    @BeforeEach
+    void init() {
+        MessageCodecs messageCodecs = new MessageCodecs(new MessageJsonMapper());
+        messageService = new MessageService(new MessagePublisher() {
+            @Override
+            public void publish(OutboundMessage message) {
+                published.add(Collections.singletonList(message));
+            }
+
+            @Override
+            public void publishAll(List<OutboundMessage> messages) {
+                published.add(messages);
+            }
+        }, new ConnectionCodecRegistry(messageCodecs), messageCodecs);
+        ReflectionTestUtils.setField(messageService, "coalesce", true);
+    }
+
+    @Test
+    @DisplayName("한 명령에서 같은 destination으로 보낸 public 메세지는 notifyBatch 하나로 보낸다")
+    public void mergePublicMessages() throws Exception {
+        //When
+        messageService.batch(() -> {
+            messageService.sendPublicMessage("1", new MessageContainer.Message(NOTIFY_SCORES, null), "room");
+            messageService.sendPublicMessage("2", new MessageContainer.Message(NOTIFY_ROUND_END, null), "room");
+        });
+
+        //Then
+        assertThat(published).hasSize(1);
+        assertThat(published.get(0)).hasSize(1);
+        OutboundMessage message = published.get(0).get(0);
+        assertThat(message.getRoutingKey()).isEqualTo("room.room.user.*");
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        assertThat(body).contains(NOTIFY_BATCH);
+        assertThat(body.indexOf(NOTIFY_SCORES)).isLessThan(body.indexOf(NOTIFY_ROUND_END));
+    }
+
+    @Test
+    @DisplayName("destination이 다른 메세지는 합치지 않고 한번에 publish한다")
+    public void keepDestinations() throws Exception {
+        //When
+        messageService.batch(() -> {
+            messageService.sendPublicMessage("1", new MessageContainer.Message(NOTIFY_LIAR_OPENED, null), "room");
+            messageService.sendPrivateMessage("2", new MessageContainer.Message(NOTIFY_LIAR_ANSWER_NEEDED, null), "liar", "room");
+        });
+
+        //Then
+        assertThat(published).hasSize(1);
+        assertThat(published.get(0).stream().map(OutboundMessage::getRoutingKey).collect(Collectors.toList()))
+                .containsExactly("room.room.user.*", "room.room.user.liar");
+        assertThat(published.get(0).stream().map(m -> new String(m.getBody(), StandardCharsets.UTF_8)))
+                .noneMatch(body -> body.contains(NOTIFY_BATCH));
+    }
+
+    @Test
+    @DisplayName("같은 메세지를 받는 receiver는 payload를 공유한다")
+    public void sharePayload() throws Exception {
+        //Given
+        MessageContainer.Message message = new MessageContainer.Message(NOTIFY_GAME_STATE, new GameStateResponse(null));
+        Map<String, MessageContainer.Message> messageByReceiver = new LinkedHashMap<>();
+        messageByReceiver.put("user1", message);
+        messageByReceiver.put("user2", message);
+
+        //When
+        messageService.batch(() -> messageService.sendPrivateMessages("1", messageByReceiver, "room"));
+
+        //Then
+        assertThat(published).hasSize(1);
+        assertThat(published.get(0)).hasSize(2);
+        assertThat(published.get(0).get(0).getBody()).isSameAs(published.get(0).get(1).getBody());
+    }
+
+    @Test
+    @DisplayName("batch 밖에서 보낸 메세지는 바로 publish한다")
+    public void publishWithoutBatch() throws Exception {
+        //When
+        messageService.sendPublicMessage("1", new MessageContainer.Message(NOTIFY_SCORES, null), "room");
+        messageService.sendPublicMessage("2", new MessageContainer.Message(NOTIFY_ROUND_END, null), "room");
+
+        //Then
+        assertThat(published).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("명령이 실패해도 그 전에 보낸 메세지는 publish한다")
+    public void flushOnFailure() throws Exception {
+        //When
+        try {
+            messageService.batch(() -> {
+                messageService.sendPublicMessage("1", new MessageContainer.Message(NOTIFY_SCORES, null), "room");
+                throw new IllegalStateException("fail");
+            });
+        } catch (IllegalStateException ignored) {
+        }
+
+        //Then
+        assertThat(published).hasSize(1);
+    }
+}
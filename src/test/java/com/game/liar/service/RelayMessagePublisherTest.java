@@ -0,0 +1,177 @@
+package com.game.liar.service;
+
+import com.game.liar.messagequeue.config.PublisherProperties;
+import com.game.liar.messagequeue.publisher.OutboundMessage;
+import com.game.liar.messagequeue.publisher.RelayMessagePublisher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitOperations;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+public class RelayMessagePublisherTest {
+    @Mock
+    RabbitTemplate rabbitTemplate;
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final PublisherProperties properties = new PublisherProperties();
+    private RelayMessagePublisher publisher;
+
+    @BeforeEach
+    void init() {
+        properties.setThreads(4);
+        properties.setInitialBackoff(10);
+        publisher = new RelayMessagePublisher(rabbitTemplate, properties, meterRegistry);
+    }
+
+    @AfterEach
+    void close() {
+        publisher.shutdown();
+    }
+
+    @Test
+    @DisplayName("같은 room의 메세지는 publish한 순서대로 broker에 보낸다")
+    public void sameRoomInOrder() throws Exception {
+        //Given
+        List<String> sent = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(500);
+        doAnswer(invocation -> {
+            sent.add(new String(((Message) invocation.getArgument(2)).getBody()));
+            ((CorrelationData) invocation.getArgument(3)).getFuture().set(new CorrelationData.Confirm(true, null));
+            done.countDown();
+            return null;
+        }).when(rabbitTemplate).send(anyString(), anyString(), any(Message.class), any(CorrelationData.class));
+
+        //When
+        for (int i = 0; i < 500; ++i) {
+            publisher.publish(message("room.1.user.*", String.valueOf(i)));
+        }
+
+        //Then
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(sent).isEqualTo(IntStream.range(0, 500).mapToObj(String::valueOf).collect(Collectors.toList()));
+        assertThat(meterRegistry.get("messaging.publisher.confirmed").counter().count()).isEqualTo(500);
+        assertThat(publisher.getInFlightCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("nack된 메세지는 backoff 후 다시 보낸다")
+    public void retryNacked() throws Exception {
+        //Given
+        AtomicInteger attempts = new AtomicInteger();
+        CountDownLatch acked = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            boolean ack = attempts.incrementAndGet() > 1;
+            ((CorrelationData) invocation.getArgument(3)).getFuture().set(new CorrelationData.Confirm(ack, ack ? null : "nack"));
+            if (ack)
+                acked.countDown();
+            return null;
+        }).when(rabbitTemplate).send(anyString(), anyString(), any(Message.class), any(CorrelationData.class));
+
+        //When
+        publisher.publish(message("room.1.user.2", "hello"));
+
+        //Then
+        assertThat(acked.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(attempts.get()).isEqualTo(2);
+        assertThat(meterRegistry.get("messaging.publisher.nacked").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("messaging.publisher.retried").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("최대 시도 횟수를 넘으면 메세지를 버리고 센다")
+    public void dropAfterMaxAttempts() throws Exception {
+        //Given
+        CountDownLatch sent = new CountDownLatch(properties.getMaxAttempts());
+        doAnswer(invocation -> {
+            ((CorrelationData) invocation.getArgument(3)).getFuture().set(new CorrelationData.Confirm(false, "nack"));
+            sent.countDown();
+            return null;
+        }).when(rabbitTemplate).send(anyString(), anyString(), any(Message.class), any(CorrelationData.class));
+
+        //When
+        publisher.publish(message("room.1.user.2", "hello"));
+
+        //Then
+        assertThat(sent.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(meterRegistry.get("messaging.publisher.dropped").tag("reason", "exhausted").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("대기 메세지가 가득 차면 메세지를 버리고 센다")
+    public void dropWhenOverloaded() throws Exception {
+        //Given
+        properties.setQueueCapacity(1);
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            blocked.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            ((CorrelationData) invocation.getArgument(3)).getFuture().set(new CorrelationData.Confirm(true, null));
+            return null;
+        }).when(rabbitTemplate).send(anyString(), anyString(), any(Message.class), any(CorrelationData.class));
+        publisher.publish(message("room.1.user.*", "sending"));
+        assertThat(blocked.await(5, TimeUnit.SECONDS)).isTrue();
+
+        //When
+        publisher.publish(message("room.1.user.*", "queued"));
+        publisher.publish(message("room.1.user.*", "dropped"));
+        release.countDown();
+
+        //Then
+        assertThat(meterRegistry.get("messaging.publisher.dropped").tag("reason", "overloaded").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("여러 메세지를 한번에 publish하면 하나의 channel로 보낸다")
+    public void batchInOneChannel() throws Exception {
+        //Given
+        CountDownLatch done = new CountDownLatch(3);
+        doAnswer(invocation -> ((RabbitOperations.OperationsCallback<?>) invocation.getArgument(0)).doInRabbit(rabbitTemplate))
+                .when(rabbitTemplate).invoke(any(RabbitOperations.OperationsCallback.class));
+        doAnswer(invocation -> {
+            ((CorrelationData) invocation.getArgument(3)).getFuture().set(new CorrelationData.Confirm(true, null));
+            done.countDown();
+            return null;
+        }).when(rabbitTemplate).send(anyString(), anyString(), any(Message.class), any(CorrelationData.class));
+
+        //When
+        publisher.publishAll(Arrays.asList(
+                message("room.1.user.2", "liar"),
+                message("room.1.user.3", "keyword"),
+                message("room.1.user.4", "keyword")));
+
+        //Then
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        verify(rabbitTemplate, times(1)).invoke(any(RabbitOperations.OperationsCallback.class));
+        assertThat(meterRegistry.get("messaging.publisher.confirmed").counter().count()).isEqualTo(3);
+    }
+
+    private OutboundMessage message(String routingKey, String body) {
+        return new OutboundMessage("amq.topic", routingKey, body.getBytes(), "text/plain");
+    }
+}
@@ -0,0 +1,94 @@
+package com.game.liar.service;
+
+import com.game.liar.game.service.RoomCommandExecutor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RoomCommandExecutorTest {
+    private RoomCommandExecutor roomCommandExecutor;
+
+    @BeforeEach
+    void init() {
+        roomCommandExecutor = new RoomCommandExecutor(4);
+    }
+
+    @AfterEach
+    void close() throws InterruptedException {
+        roomCommandExecutor.shutdown();
+    }
+
+    @Test
+    @DisplayName("같은 room의 요청은 들어온 순서대로 하나씩 처리된다")
+    public void sameRoomInOrder() throws Exception {
+        //Given
+        List<Integer> processed = new ArrayList<>();
+        List<CompletableFuture<Integer>> results = new ArrayList<>();
+
+        //When
+        for (int i = 0; i < 1000; ++i) {
+            int order = i;
+            results.add(roomCommandExecutor.submit("room", () -> {
+                processed.add(order);
+                return order;
+            }));
+        }
+        CompletableFuture.allOf(results.toArray(new CompletableFuture[0])).get(5, TimeUnit.SECONDS);
+
+        //Then
+        assertThat(processed).isEqualTo(IntStream.range(0, 1000).boxed().collect(Collectors.toList()));
+    }
+
+    @Test
+    @DisplayName("다른 room의 요청은 동시에 처리된다")
+    public void otherRoomInParallel() throws Exception {
+        //Given
+        CountDownLatch latch = new CountDownLatch(2);
+        List<Boolean> result = Collections.synchronizedList(new ArrayList<>());
+
+        //When
+        for (String roomId : new String[]{"room1", "room2"}) {
+            roomCommandExecutor.execute(roomId, () -> {
+                latch.countDown();
+                try {
+                    result.add(latch.await(1, TimeUnit.SECONDS));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+
+        //Then
+        CompletableFuture<Void> done = roomCommandExecutor.submit("room1", () -> null)
+                .thenCombine(roomCommandExecutor.submit("room2", () -> null), (a, b) -> null);
+        done.get(5, TimeUnit.SECONDS);
+        assertThat(result).containsExactly(true, true);
+    }
+
+    @Test
+    @DisplayName("요청이 실패해도 같은 room의 다음 요청은 처리된다")
+    public void continueAfterFailure() throws Exception {
+        //Given
+        roomCommandExecutor.execute("room", () -> {
+            throw new IllegalStateException("failed");
+        });
+
+        //When
+        Integer result = roomCommandExecutor.submit("room", () -> 1).get(5, TimeUnit.SECONDS);
+
+        //Then
+        assertThat(result).isEqualTo(1);
+    }
+}
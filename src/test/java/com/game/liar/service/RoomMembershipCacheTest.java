@@ -0,0 +1,112 @@
+package com.game.liar.service;
+
+import com.game.liar.room.domain.Authority;
+import com.game.liar.room.domain.RoomId;
+import com.game.liar.room.dto.UserDataDto;
+import com.game.liar.room.event.UserAddedEvent;
+import com.game.liar.room.event.UserRemovedEvent;
+import com.game.liar.room.service.LiveRoomRegistry;
+import com.game.liar.room.service.RoomMembershipCache;
+import com.game.liar.user.domain.GameUser;
+import com.game.liar.user.domain.UserId;
+import com.game.liar.user.repository.UserRepository;
+import com.game.liar.websocket.WebsocketConnectedEvent;
+import com.game.liar.websocket.WebsocketDisconnectedEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class RoomMembershipCacheTest {
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private LiveRoomRegistry liveRoomRegistry;
+    @InjectMocks
+    private RoomMembershipCache roomMembershipCache;
+
+    @Test
+    @DisplayName("방 멤버는 처음 한번만 DB에서 조회한다")
+    public void loadOnce() throws Exception {
+        //Given
+        when(liveRoomRegistry.contains(any())).thenReturn(true);
+        when(userRepository.findByRoomId(any())).thenReturn(Arrays.asList(
+                new GameUser(UserId.of("owner"), RoomId.of("room"), "owner", "password", Authority.ROLE_USER),
+                new GameUser(UserId.of("guest"), RoomId.of("room"), "guest", "password", Authority.ROLE_USER)));
+
+        //When
+        roomMembershipCache.getUserIds(RoomId.of("room"));
+        roomMembershipCache.contains(RoomId.of("room"), "guest");
+
+        //Then
+        assertThat(roomMembershipCache.getUserIds(RoomId.of("room"))).containsExactly("owner", "guest");
+        assertThat(roomMembershipCache.contains(RoomId.of("room"), "guest")).isTrue();
+        verify(userRepository, times(1)).findByRoomId(any());
+    }
+
+    @Test
+    @DisplayName("유저 입장/퇴장 이벤트로 방 멤버가 갱신된다")
+    public void updateByUserEvent() throws Exception {
+        //Given
+        when(liveRoomRegistry.contains(any())).thenReturn(true);
+        when(userRepository.findByRoomId(any())).thenReturn(Collections.emptyList());
+        roomMembershipCache.getUserIds(RoomId.of("room"));
+
+        //When
+        roomMembershipCache.onUserAdded(new UserAddedEvent(this, "room", new UserDataDto("owner", "owner")));
+        roomMembershipCache.onUserAdded(new UserAddedEvent(this, "room", new UserDataDto("guest", "guest")));
+        roomMembershipCache.onUserRemoved(new UserRemovedEvent(this, "room", new UserDataDto("owner", "owner")));
+
+        //Then
+        assertThat(roomMembershipCache.getUserIds(RoomId.of("room"))).containsExactly("guest");
+    }
+
+    @Test
+    @DisplayName("웹소켓 연결이 끊기면 세션의 유저가 방 멤버에서 제거된다")
+    public void updateByWebsocketEvent() throws Exception {
+        //Given
+        when(liveRoomRegistry.contains(any())).thenReturn(true);
+        when(userRepository.findByRoomId(any())).thenReturn(Collections.emptyList());
+        roomMembershipCache.getUserIds(RoomId.of("room"));
+        roomMembershipCache.onConnected(new WebsocketConnectedEvent(this, "room", "guest", "session"));
+        assertThat(roomMembershipCache.contains(RoomId.of("room"), "guest")).isTrue();
+
+        //When
+        roomMembershipCache.onDisconnected(new WebsocketDisconnectedEvent(this, "session"));
+
+        //Then
+        assertThat(roomMembershipCache.contains(RoomId.of("room"), "guest")).isFalse();
+    }
+
+    @Test
+    @DisplayName("없는 방은 캐시하지 않고, 제거된 방은 늦게 온 입장 이벤트로 다시 생기지 않는다")
+    public void notLiveRoom() throws Exception {
+        //Given
+        when(liveRoomRegistry.contains(RoomId.of("room"))).thenReturn(true);
+        when(liveRoomRegistry.contains(RoomId.of("unknown"))).thenReturn(false);
+        when(userRepository.findByRoomId(any())).thenReturn(Collections.emptyList());
+        roomMembershipCache.getUserIds(RoomId.of("room"));
+
+        //When
+        boolean unknownMember = roomMembershipCache.contains(RoomId.of("unknown"), "guest");
+        roomMembershipCache.evict(RoomId.of("room"));
+        roomMembershipCache.onUserAdded(new UserAddedEvent(this, "room", new UserDataDto("guest", "guest")));
+
+        //Then
+        assertThat(unknownMember).isFalse();
+        assertThat((Map<?, ?>) ReflectionTestUtils.getField(roomMembershipCache, "members")).isEmpty();
+        verify(userRepository, times(1)).findByRoomId(any());
+    }
+}
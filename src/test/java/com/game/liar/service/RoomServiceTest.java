@@ -1,11 +1,14 @@
 package com.game.liar.service;
 
+import com.game.liar.chat.service.ChatHistory;
 import com.game.liar.exception.MaxCountException;
 import com.game.liar.exception.NotExistException;
 import com.game.liar.game.domain.RoomSettings;
 import com.game.liar.room.domain.*;
 import com.game.liar.room.dto.*;
 import com.game.liar.room.repository.RoomRepository;
+import com.game.liar.room.service.LiveRoomRegistry;
+import com.game.liar.room.service.RoomMembershipCache;
 import com.game.liar.room.service.RoomService;
 import com.game.liar.security.JwtService;
 import com.game.liar.security.dto.TokenDto;
@@ -37,6 +40,12 @@ class RoomServiceTest {
     private JwtService jwtService;
     @Mock
     private PasswordEncoder passwordEncoder;
+    @Mock
+    private RoomMembershipCache roomMembershipCache;
+    @Mock
+    private LiveRoomRegistry liveRoomRegistry;
+    @Mock
+    private ChatHistory chatHistory;
     @InjectMocks
     private RoomService roomService;
 
@@ -193,4 +202,20 @@ class RoomServiceTest {
         //Then
         assertThrows(MaxCountException.class, () -> roomService.addRoomMember(guest));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void 방삭제_캐시와_채팅기록_제거() throws Exception {
+        //Given
+        String roomId = UUID.randomUUID().toString();
+        Room room = new Room(RoomId.of(roomId), RoomSettings.of(5), UserId.of("owner"));
+        when(roomRepository.findById(RoomId.of(roomId))).thenReturn(Optional.of(room));
+
+        //When
+        roomService.deleteRoom(new RoomIdRequest(roomId));
+
+        //Then
+        verify(roomRepository).delete(room);
+        verify(liveRoomRegistry).unregister(RoomId.of(roomId));
+        verify(chatHistory).remove(roomId);
+    }
+}
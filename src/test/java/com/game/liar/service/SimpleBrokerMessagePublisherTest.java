@@ -0,0 +1,61 @@
+package com.game.liar.service;
+
+import com.game.liar.messagequeue.publisher.OutboundMessage;
+import com.game.liar.messagequeue.publisher.SimpleBrokerMessagePublisher;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SimpleBrokerMessagePublisherTest {
+    private final List<Message<?>> sent = new ArrayList<>();
+    private final SimpleBrokerMessagePublisher publisher = create();
+
+    @Test
+    @DisplayName("amq.topic은 /topic, 나머지 exchange는 /exchange destination으로 보낸다")
+    public void destinations() throws Exception {
+        //Given
+        byte[] body = "{}".getBytes(StandardCharsets.UTF_8);
+
+        //When
+        publisher.publishAll(Arrays.asList(
+                new OutboundMessage("amq.topic", "room.1.user.*", body, "application/json"),
+                new OutboundMessage("message.direct", "room.1.user.2", body, "application/json"),
+                new OutboundMessage("message.error", "user.2", body, "application/json")));
+
+        //Then
+        assertThat(sent.stream().map(SimpMessageHeaderAccessor::getDestination).collect(Collectors.toList()))
+                .containsExactly("/topic/room.1.user.*", "/exchange/message.direct/room.1.user.2", "/exchange/message.error/user.2");
+    }
+
+    @Test
+    @DisplayName("payload와 content type을 그대로 전달한다")
+    public void payloadAndContentType() throws Exception {
+        //Given
+        byte[] body = new byte[]{(byte) 0xa1, 0x61, 0x61, 0x01};
+
+        //When
+        publisher.publish(new OutboundMessage("amq.topic", "room.1.user.*.cbor", body, "application/cbor"));
+
+        //Then
+        Message<?> message = sent.get(0);
+        assertThat(message.getPayload()).isSameAs(body);
+        assertThat(message.getHeaders().get("contentType").toString()).isEqualTo("application/cbor");
+    }
+
+    private SimpleBrokerMessagePublisher create() {
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("brokerMessagingTemplate", new SimpMessagingTemplate((message, timeout) -> sent.add(message)));
+        return new SimpleBrokerMessagePublisher(beanFactory.getBeanProvider(SimpMessagingTemplate.class));
+    }
+}
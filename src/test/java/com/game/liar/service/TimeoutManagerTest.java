@@ -0,0 +1,104 @@
+package com.game.liar.service;
+
+import com.game.liar.messagequeue.LocalTimeoutBackend;
+import com.game.liar.messagequeue.TimeoutManager;
+import com.game.liar.messagequeue.TimeoutService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.netty.util.HashedWheelTimer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TimeoutManagerTest {
+    @Mock
+    TimeoutService timeoutService;
+    HashedWheelTimer gameTimer;
+    SimpleMeterRegistry meterRegistry;
+    TimeoutManager timeoutManager;
+
+    @BeforeEach
+    void init() {
+        gameTimer = new HashedWheelTimer(10, TimeUnit.MILLISECONDS);
+        meterRegistry = new SimpleMeterRegistry();
+        timeoutManager = new TimeoutManager(new LocalTimeoutBackend(gameTimer, timeoutService, meterRegistry));
+        TimeoutManager.setTimeout(100);
+    }
+
+    @AfterEach
+    void close() {
+        gameTimer.stop();
+        TimeoutManager.setTimeout(20000);
+    }
+
+    @Test
+    @DisplayName("timer가 만료되면 timeout을 알리고 대기 목록에서 제거된다")
+    public void timerFired() throws Exception {
+        //Given
+        timeoutManager.timerStart("uuid", "room", TimeoutManager.TimeoutData.TimerType.TURN);
+        assertThat(meterRegistry.get("game.timer.pending").gauge().value()).isEqualTo(1);
+
+        //When
+        //Then
+        await().atMost(2, TimeUnit.SECONDS).untilAsserted(() -> verify(timeoutService, times(1)).onTimeout(any()));
+        assertThat(meterRegistry.get("game.timer.pending").gauge().value()).isEqualTo(0);
+        assertThat(meterRegistry.get("game.timer.lag").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("취소한 timer는 만료되지 않는다")
+    public void timerCancelled() throws Exception {
+        //Given
+        timeoutManager.timerStart("uuid", "room", TimeoutManager.TimeoutData.TimerType.VOTE);
+
+        //When
+        timeoutManager.cancel("room");
+
+        //Then
+        assertThat(meterRegistry.get("game.timer.pending").gauge().value()).isEqualTo(0);
+        Thread.sleep(300);
+        verify(timeoutService, never()).onTimeout(any());
+    }
+
+    @Test
+    @DisplayName("같은 room에 timer를 다시 시작하면 이전 timer는 취소된다")
+    public void timerRestarted() throws Exception {
+        //Given
+        timeoutManager.timerStart("uuid1", "room", TimeoutManager.TimeoutData.TimerType.TURN);
+
+        //When
+        String timerId = timeoutManager.timerStart("uuid2", "room", TimeoutManager.TimeoutData.TimerType.TURN);
+
+        //Then
+        await().atMost(2, TimeUnit.SECONDS).untilAsserted(() -> verify(timeoutService, times(1)).onTimeout(any()));
+        Thread.sleep(200);
+        verify(timeoutService, times(1)).onTimeout(argThat(data -> data.getTimerId().equals(timerId)));
+    }
+
+    @Test
+    @DisplayName("바로 만료되는 timer도 timeout을 알리고 대기 목록에서 제거된다")
+    public void timerFiredImmediately() throws Exception {
+        //Given
+        TimeoutManager.setTimeout(0);
+
+        //When
+        for (int i = 0; i < 100; ++i) {
+            timeoutManager.timerStart("uuid", "room" + i, TimeoutManager.TimeoutData.TimerType.TURN);
+        }
+
+        //Then
+        await().atMost(2, TimeUnit.SECONDS).untilAsserted(() -> verify(timeoutService, times(100)).onTimeout(any()));
+        assertThat(meterRegistry.get("game.timer.pending").gauge().value()).isEqualTo(0);
+    }
+}